@@ -0,0 +1,296 @@
+package com.company.awsaccess.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the create path (and so the LLM).
+ *
+ * Each requester has a token bucket; a requester over their rate is
+ * refused at once, so one flooding client cannot fill the queue. Then the
+ * global bucket: if it has a token and nobody is queued the request goes
+ * straight through, otherwise it joins a bounded wait queue. A single
+ * dispatcher thread hands out global tokens in queue order, first
+ * attempts ahead of retries, FIFO within each.
+ *
+ * A batch costs one token per entry: each requester named in it pays for
+ * their own entries, the global bucket for all of them. A cost larger than
+ * a burst is let through only against a full bucket and leaves it in debt,
+ * so a big batch pays its real cost in later waits instead of the price of
+ * a burst.
+ *
+ * Refusals (requester over rate, queue full, waited too long) surface as
+ * AdmissionRejectedException, answered 429 with Retry-After. Tokens taken
+ * for a refused request are given back.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final int FIRST_ATTEMPT = 0;
+    private static final int RETRY = 1;
+
+    private final boolean enabled;
+    private final TokenBucket global;
+    private final double requesterRate;
+    private final int requesterBurst;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+
+    private final ConcurrentMap<String, TokenBucket> requesters = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<Waiter> queue = new PriorityBlockingQueue<>();
+    // waiters queued or being dispatched; cancelled ones leave the queue
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Timer waitTime;
+    private final Counter admitted;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private volatile Thread dispatcher;
+
+    public AdmissionControl(
+            @Value("${access-request.admission.enabled:true}") boolean enabled,
+            @Value("${access-request.admission.global-rate-per-second:20}") double globalRate,
+            @Value("${access-request.admission.global-burst:40}") int globalBurst,
+            @Value("${access-request.admission.requester-rate-per-second:0.5}") double requesterRate,
+            @Value("${access-request.admission.requester-burst:10}") int requesterBurst,
+            @Value("${access-request.admission.queue-capacity:200}") int queueCapacity,
+            @Value("${access-request.admission.max-wait-ms:5000}") long maxWaitMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.global = new TokenBucket(globalRate, globalBurst);
+        this.requesterRate = requesterRate;
+        this.requesterBurst = requesterBurst;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = Duration.ofMillis(maxWaitMs).toNanos();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("access-request.admission.queue-depth", queued, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("access-request.admission.requesters", requesters, ConcurrentMap::size)
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("access-request.admission.wait")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.admitted = Counter.builder("access-request.admission.admitted").register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once admitted.
+     *
+     * @param requester whose bucket pays
+     * @param retry     queued behind first attempts
+     * @param cost      tokens, e.g. the number of requests in a batch
+     */
+    public <T> T admit(String requester, boolean retry, int cost, Supplier<T> action) {
+        return admit(Map.of(requester == null ? "" : requester, cost), retry, action);
+    }
+
+    /**
+     * Runs the action once admitted, for work on behalf of several
+     * requesters (a batch): each bucket pays its own cost, the global
+     * bucket their sum. Refused if any requester is over their rate.
+     *
+     * @param costs tokens per requester
+     */
+    public <T> T admit(Map<String, Integer> costs, boolean retry, Supplier<T> action) {
+        if (enabled) {
+            acquire(costs, retry);
+        }
+        return action.get();
+    }
+
+    private void acquire(Map<String, Integer> costs, boolean retry) {
+
+        long started = System.nanoTime();
+
+        List<Charge> charged = new ArrayList<>(costs.size());
+        int cost = 0;
+        for (Map.Entry<String, Integer> entry : costs.entrySet()) {
+            TokenBucket own = requesters.computeIfAbsent(entry.getKey(),
+                    r -> new TokenBucket(requesterRate, requesterBurst));
+            int tokens = Math.max(1, entry.getValue());
+            long ownWait = own.tryAcquire(tokens);
+            if (ownWait > 0) {
+                refund(charged);
+                throw reject("requester-rate", ownWait);
+            }
+            charged.add(new Charge(own, tokens));
+            cost += tokens;
+        }
+
+        if (queued.get() == 0 && global.tryAcquire(cost) == 0) {
+            admitted(started);
+            return;
+        }
+
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            refund(charged);
+            throw reject("queue-full", global.nanosFor(queueCapacity));
+        }
+
+        Waiter waiter = new Waiter(retry ? RETRY : FIRST_ATTEMPT, sequence.incrementAndGet(), cost);
+        queue.add(waiter);
+
+        if (!waiter.await(maxWaitNanos)) {
+            if (queue.remove(waiter)) {
+                queued.decrementAndGet();
+            }
+            refund(charged);
+            throw reject("wait-timeout", global.nanosFor(queued.get() + cost));
+        }
+        admitted(started);
+    }
+
+    private static void refund(List<Charge> charged) {
+        charged.forEach(charge -> charge.bucket.refund(charge.tokens));
+    }
+
+    private void admitted(long started) {
+        admitted.increment();
+        waitTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private AdmissionRejectedException reject(String reason, long retryAfterNanos) {
+        Counter.builder("access-request.admission.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+        return new AdmissionRejectedException(reason, seconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofPlatform()
+                .name("admission-dispatcher")
+                .daemon()
+                .start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread current = dispatcher;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            Waiter waiter;
+            try {
+                waiter = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long wait;
+            while ((wait = global.tryAcquire(waiter.cost)) > 0 && !waiter.isCancelled() && running) {
+                LockSupport.parkNanos(wait);
+            }
+            if (wait == 0 && !waiter.grant()) {
+                // gave up while we were waiting for its token
+                global.refund(waiter.cost);
+            }
+            // only now: until here the fast path must not overtake it
+            queued.decrementAndGet();
+        }
+    }
+
+    // Requesters back at a full bucket carry no state worth keeping
+    @Scheduled(fixedDelayString = "${access-request.admission.idle-sweep-ms:60000}")
+    public void dropIdleRequesters() {
+        requesters.values().removeIf(TokenBucket::isIdle);
+    }
+
+    private static final class Charge {
+
+        private final TokenBucket bucket;
+        private final int tokens;
+
+        private Charge(TokenBucket bucket, int tokens) {
+            this.bucket = bucket;
+            this.tokens = tokens;
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final int priority;
+        private final long sequence;
+        private final int cost;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final CountDownLatch granted = new CountDownLatch(1);
+
+        private Waiter(int priority, long sequence, int cost) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.cost = cost;
+        }
+
+        private boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                granted.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        // false if it timed out (or was interrupted) before being granted
+        private boolean await(long timeoutNanos) {
+            try {
+                if (granted.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // lost the race with grant(): the token is ours after all
+            return !state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
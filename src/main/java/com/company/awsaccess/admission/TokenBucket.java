@@ -0,0 +1,72 @@
+package com.company.awsaccess.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, kept as a single "theoretical arrival time"
+ * (GCRA): the instant the bucket would be full again. Taking n tokens
+ * pushes it n intervals forward; the take is allowed while it stays within
+ * capacity intervals of now. One CAS per acquire, no refill thread.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        this(tokensPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double tokensPerSecond, int capacity, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("rate and capacity must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = intervalNanos * capacity;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes the tokens if available. More than the capacity can never fit,
+     * so such a request goes through once the bucket is full and is charged
+     * in full: the bucket runs into debt, and later takes wait it off.
+     *
+     * @return 0 if taken, otherwise nanos until they would be available
+     */
+    public long tryAcquire(int tokens) {
+        long cost = intervalNanos * tokens;
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long over = cost > capacityNanos
+                    ? current - now
+                    : next - now - capacityNanos;
+            if (over > 0) {
+                return over;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gives back tokens taken for work that never ran
+    public void refund(int tokens) {
+        fullAt.addAndGet(-intervalNanos * tokens);
+    }
+
+    // Time the given number of tokens takes to refill
+    public long nanosFor(int tokens) {
+        return intervalNanos * tokens;
+    }
+
+    // Full again: dropping it loses nothing
+    public boolean isIdle() {
+        return fullAt.get() - clock.getAsLong() <= 0;
+    }
+}
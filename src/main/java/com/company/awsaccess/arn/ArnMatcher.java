@@ -0,0 +1,60 @@
+package com.company.awsaccess.arn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches ARNs against a fixed set of IAM resource patterns.
+ *
+ * Literal ARNs go in a hash set and "prefix*" patterns in an ArnTrie; only
+ * patterns with an inner wildcard or '?' fall back to globMatches. Granted
+ * resources are almost always of the first two kinds, so a match is one
+ * hash lookup plus one walk of the ARN.
+ */
+public final class ArnMatcher {
+
+    private final Set<String> exact = new HashSet<>();
+    private final ArnTrie prefixes = new ArnTrie();
+    private final List<String> globs = new ArrayList<>();
+
+    public ArnMatcher(Collection<String> patterns) {
+        for (String pattern : patterns) {
+            String prefix = ArnTrie.coveringPrefix(pattern);
+            if (prefix != null) {
+                prefixes.insert(prefix);
+            } else if (Arns.hasWildcard(pattern)) {
+                globs.add(pattern);
+            } else {
+                exact.add(pattern);
+            }
+        }
+    }
+
+    public boolean matches(String arn) {
+        if (exact.contains(arn) || prefixes.hasPrefixOf(arn)) {
+            return true;
+        }
+        for (String glob : globs) {
+            if (Arns.globMatches(glob, arn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if everything the pattern can match is matched here. A literal
+     * ARN reduces to matches(); a wildcard pattern needs a "prefix*" over
+     * its literal part, or the identical pattern.
+     */
+    public boolean covers(String pattern) {
+        if (!Arns.hasWildcard(pattern)) {
+            return matches(pattern);
+        }
+        // a wildcard-free prefix of the pattern is a prefix of its literal part
+        return prefixes.hasPrefixOf(pattern) || globs.contains(pattern);
+    }
+}
@@ -0,0 +1,102 @@
+package com.company.awsaccess.arn;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Character trie over the literal prefixes of trailing-wildcard ARNs
+ * ("prefix*"). Such a pattern matches everything that starts with its
+ * prefix, so any other ARN or pattern whose path passes a marked node is
+ * redundant. Lookups cost one walk of the ARN, independent of how many
+ * patterns there are.
+ *
+ * Only removes what is already covered; it never widens a grant.
+ */
+public final class ArnTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Distinct ARNs minus those covered by another pattern, sorted so the
+     * result (and any policy built from it) is deterministic.
+     */
+    public static List<String> compact(Collection<String> arns) {
+
+        TreeSet<String> distinct = new TreeSet<>(arns);
+
+        ArnTrie trie = new ArnTrie();
+        for (String arn : distinct) {
+            String prefix = coveringPrefix(arn);
+            if (prefix != null) {
+                trie.insert(prefix);
+            }
+        }
+
+        return distinct.stream()
+                .filter(arn -> !trie.coversOther(arn))
+                .toList();
+    }
+
+    // "prefix*" with no other wildcard → prefix; anything else → null
+    static String coveringPrefix(String arn) {
+        if (!arn.endsWith("*")) {
+            return null;
+        }
+        String prefix = arn.substring(0, arn.length() - 1);
+        return Arns.hasWildcard(prefix) ? null : prefix;
+    }
+
+    void insert(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    // True if some inserted prefix is a prefix of the value
+    boolean hasPrefixOf(String value) {
+        Node node = root;
+        for (int depth = 0; ; depth++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (depth == value.length()) {
+                return false;
+            }
+            node = node.children.get(value.charAt(depth));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    // True if a pattern other than the ARN itself covers it. A pattern's own
+    // marker sits at depth prefix.length(), so only shallower ones count.
+    private boolean coversOther(String arn) {
+        String own = coveringPrefix(arn);
+        int deepest = own == null ? arn.length() : own.length() - 1;
+
+        Node node = root;
+        for (int depth = 0; ; depth++) {
+            if (node.terminal && depth <= deepest) {
+                return true;
+            }
+            if (depth >= arn.length() || depth >= deepest) {
+                return false;
+            }
+            node = node.children.get(arn.charAt(depth));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,139 @@
+package com.company.awsaccess.arn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ARN string helpers shared by storage, lookup and policy code.
+ *
+ * The "root" of an ARN is everything up to the first '/' or wildcard after
+ * the arn:partition:service:region:account: namespace. It is what the
+ * resource index is keyed on: a grant can only cover an ARN if the grant's
+ * root is a prefix of that ARN's root.
+ *
+ * A grant wildcarded in its region or account segment has no literal root
+ * past the service, so it is keyed on "arn:partition:service:" instead;
+ * every lookup for that service probes that key too.
+ */
+public final class Arns {
+
+    public static final int ROOT_MAX_LENGTH = 255;
+
+    private Arns() {
+    }
+
+    public static boolean hasWildcard(String arn) {
+        return arn.indexOf('*') >= 0 || arn.indexOf('?') >= 0;
+    }
+
+    // Length of "arn:partition:service:region:account:"
+    public static int namespaceLength(String arn) {
+        int pos = -1;
+        for (int i = 0; i < 5; i++) {
+            pos = arn.indexOf(':', pos + 1);
+            if (pos < 0) {
+                return arn.length();
+            }
+        }
+        return pos + 1;
+    }
+
+    // Service segment, e.g. "s3" in arn:aws:s3:::bucket; null if malformed
+    public static String service(String arn) {
+        int first = arn.indexOf(':');
+        int second = first < 0 ? -1 : arn.indexOf(':', first + 1);
+        int third = second < 0 ? -1 : arn.indexOf(':', second + 1);
+        return third < 0 ? null : arn.substring(second + 1, third);
+    }
+
+    public static String root(String arn) {
+        int namespace = namespaceLength(arn);
+        if (hasWildcard(arn.substring(0, namespace))) {
+            return truncate(servicePrefix(arn));
+        }
+        int end = arn.length();
+        for (int i = namespace; i < arn.length(); i++) {
+            char c = arn.charAt(i);
+            if (c == '/' || c == '*' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        return truncate(arn.substring(0, end));
+    }
+
+    // "arn:partition:service:", cut at a wildcard if one comes earlier
+    public static String servicePrefix(String arn) {
+        int pos = -1;
+        for (int i = 0; i < 3; i++) {
+            pos = arn.indexOf(':', pos + 1);
+            if (pos < 0) {
+                return literalPrefix(arn);
+            }
+        }
+        return literalPrefix(arn.substring(0, pos + 1));
+    }
+
+    /**
+     * Every root a covering grant could have been stored under: the ARN's
+     * own root, each shorter prefix of it down to the namespace, and the
+     * service prefix of grants wildcarded in region or account.
+     */
+    public static List<String> candidateRoots(String arn) {
+        String root = root(arn);
+        int min = Math.min(namespaceLength(arn), root.length());
+        List<String> roots = new ArrayList<>(root.length() - min + 2);
+        for (int len = root.length(); len >= min; len--) {
+            roots.add(root.substring(0, len));
+        }
+        String service = servicePrefix(arn);
+        if (!roots.contains(service)) {
+            roots.add(service);
+        }
+        return roots;
+    }
+
+    // Literal part of a pattern, before its first wildcard
+    public static String literalPrefix(String arn) {
+        for (int i = 0; i < arn.length(); i++) {
+            char c = arn.charAt(i);
+            if (c == '*' || c == '?') {
+                return arn.substring(0, i);
+            }
+        }
+        return arn;
+    }
+
+    /**
+     * IAM-style match: '*' is any run of characters, '?' exactly one.
+     */
+    public static boolean globMatches(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int star = -1;
+        int mark = 0;
+        while (v < value.length()) {
+            if (p < pattern.length()
+                    && (pattern.charAt(p) == '?' || pattern.charAt(p) == value.charAt(v))) {
+                p++;
+                v++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = v;
+            } else if (star >= 0) {
+                p = star + 1;
+                v = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= ROOT_MAX_LENGTH ? value : value.substring(0, ROOT_MAX_LENGTH);
+    }
+}
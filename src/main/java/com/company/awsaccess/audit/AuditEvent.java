@@ -0,0 +1,56 @@
+package com.company.awsaccess.audit;
+
+import com.company.awsaccess.model.AccessRequestStatus;
+
+import java.time.LocalDateTime;
+
+// One buffered audit record; becomes a row in audit_events
+public class AuditEvent {
+
+    private final Long requestId;
+    private final AuditEventType type;
+    private final AccessRequestStatus fromStatus;
+    private final AccessRequestStatus toStatus;
+    private final String detail;
+    private final LocalDateTime occurredAt;
+
+    public AuditEvent(
+            Long requestId,
+            AuditEventType type,
+            AccessRequestStatus fromStatus,
+            AccessRequestStatus toStatus,
+            String detail,
+            LocalDateTime occurredAt
+    ) {
+        this.requestId = requestId;
+        this.type = type;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.detail = detail;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public AuditEventType getType() {
+        return type;
+    }
+
+    public AccessRequestStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public AccessRequestStatus getToStatus() {
+        return toStatus;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.awsaccess.audit;
+
+public enum AuditEventType {
+    CREATED,
+    INTERPRETED,
+    INTERPRETATION_FAILED,
+    FOLLOWUP_REQUESTED,
+    MANAGER_APPROVED,
+    MANAGER_REJECTED,
+    DEVOPS_APPROVED,
+    DEVOPS_REJECTED,
+    EXPIRED,
+    POLICY_EXPORTED,
+    // written by the writer itself when the buffer overflowed
+    EVENTS_DROPPED
+}
@@ -0,0 +1,195 @@
+package com.company.awsaccess.audit;
+
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequestStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit trail that stays off the request path.
+ *
+ * record() only offers to a lock-free ring; a single writer thread drains
+ * it every flush interval (or immediately while a full batch is waiting)
+ * and inserts with one JDBC batch per drain.
+ *
+ * Overflow: when the ring is full the new event is dropped and counted.
+ * The writer then appends an EVENTS_DROPPED row with the count, so a gap
+ * in the trail is itself on record. A failed insert keeps its batch and
+ * retries it on the next cycle; nothing is drained meanwhile, so a long
+ * outage surfaces as dropped events rather than unbounded memory.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events "
+            + "(request_id, event_type, from_status, to_status, detail, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+    private final Counter dropped;
+    private final Counter written;
+
+    private List<AuditEvent> pending = new ArrayList<>();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditLog(
+            JdbcTemplate jdbcTemplate,
+            @Value("${access-request.audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${access-request.audit.batch-size:500}") int batchSize,
+            @Value("${access-request.audit.flush-interval-ms:1000}") long flushIntervalMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = Duration.ofMillis(flushIntervalMs).toNanos();
+
+        Gauge.builder("access-request.audit.buffered", buffer, AuditRingBuffer::size)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("access-request.audit.dropped").register(meterRegistry);
+        this.written = Counter.builder("access-request.audit.written").register(meterRegistry);
+    }
+
+    public void record(
+            Long requestId,
+            AuditEventType type,
+            AccessRequestStatus fromStatus,
+            AccessRequestStatus toStatus,
+            String detail
+    ) {
+        AuditEvent event = new AuditEvent(
+                requestId, type, fromStatus, toStatus, detail, LocalDateTime.now());
+        if (!buffer.offer(event)) {
+            droppedSinceFlush.incrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    // Every status transition is audited from its event
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        record(
+                event.getRequestId(),
+                typeOf(event),
+                event.getPreviousStatus(),
+                event.getStatus(),
+                event.getExpiresAt() == null ? null : "expiresAt=" + event.getExpiresAt());
+    }
+
+    private static AuditEventType typeOf(AccessRequestStatusChangedEvent event) {
+        if (event.getPreviousStatus() == null) {
+            return AuditEventType.CREATED;
+        }
+        return switch (event.getStatus()) {
+            case CREATED -> AuditEventType.INTERPRETED;
+            case INTERPRETATION_FAILED -> AuditEventType.INTERPRETATION_FAILED;
+            case AWAITING_FOLLOWUP -> AuditEventType.FOLLOWUP_REQUESTED;
+            case MANAGER_APPROVED -> AuditEventType.MANAGER_APPROVED;
+            case MANAGER_REJECTED -> AuditEventType.MANAGER_REJECTED;
+            case DEVOPS_APPROVED -> AuditEventType.DEVOPS_APPROVED;
+            case DEVOPS_REJECTED -> AuditEventType.DEVOPS_REJECTED;
+            case EXPIRED -> AuditEventType.EXPIRED;
+            case INTERPRETING -> throw new IllegalStateException("No transition into INTERPRETING");
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon()
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            current.join(5000);
+        }
+        // final drain on the shutdown thread once the writer has exited;
+        // stops when the ring is empty or the database refuses
+        int flushed;
+        do {
+            flushed = flush();
+        } while (flushed > 0);
+    }
+
+    private void run() {
+        while (running) {
+            if (flush() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Writes at most one batch; only the writer thread (or stop, after it
+     * has exited) calls this.
+     *
+     * @return number of events written
+     */
+    int flush() {
+
+        if (pending.isEmpty()) {
+            buffer.drainTo(pending, batchSize);
+            long lost = droppedSinceFlush.getAndSet(0);
+            if (lost > 0) {
+                pending.add(new AuditEvent(null, AuditEventType.EVENTS_DROPPED, null, null,
+                        lost + " audit events dropped: buffer full", LocalDateTime.now()));
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, pending, pending.size(), (ps, event) -> {
+                ps.setObject(1, event.getRequestId());
+                ps.setString(2, event.getType().name());
+                ps.setString(3, event.getFromStatus() == null ? null : event.getFromStatus().name());
+                ps.setString(4, event.getToStatus() == null ? null : event.getToStatus().name());
+                ps.setString(5, event.getDetail());
+                ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+            });
+        } catch (DataAccessException e) {
+            log.warn("Audit batch of {} events failed, retrying next cycle", pending.size(), e);
+            return 0;
+        }
+
+        int count = pending.size();
+        written.increment(count);
+        pending = new ArrayList<>();
+        return count;
+    }
+}
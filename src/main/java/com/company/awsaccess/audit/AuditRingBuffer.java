@@ -0,0 +1,87 @@
+package com.company.awsaccess.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring for many producers and a single consumer.
+ *
+ * Each slot carries a sequence number: a producer claims the next position
+ * with one CAS and publishes by advancing the slot's sequence; the consumer
+ * takes a slot only once it is published. offer never blocks and fails
+ * when the ring is full, leaving the overflow policy to the caller.
+ */
+public class AuditRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+    // consumer-owned; only read by size()
+    private volatile long head;
+
+    public AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E item) {
+        long pos = tail.get();
+        while (true) {
+            int slot = (int) (pos & mask);
+            long diff = sequences.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.set(slot, item);
+                    sequences.set(slot, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                // another producer claimed this position first
+                pos = tail.get();
+            }
+        }
+    }
+
+    // Single consumer only
+    public int drainTo(List<? super E> target, int max) {
+        long pos = head;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (pos & mask);
+            if (sequences.get(slot) != pos + 1) {
+                break;
+            }
+            target.add(items.get(slot));
+            items.set(slot, null);
+            sequences.set(slot, pos + capacity);
+            pos++;
+            drained++;
+        }
+        head = pos;
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.awsaccess.catalog;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Action groups per service, as listed in the LLM contract (allowedActionGroups).
+ */
+public enum ActionGroup {
+
+    READ_OBJECTS(AwsService.S3),
+    UPLOAD_OBJECTS(AwsService.S3),
+    DELETE_OBJECTS(AwsService.S3),
+    LIST_BUCKET(AwsService.S3),
+
+    READ_INSTANCES(AwsService.EC2),
+    START_STOP_INSTANCES(AwsService.EC2),
+
+    READ_LOGS(AwsService.CLOUDWATCH),
+    WRITE_LOGS(AwsService.CLOUDWATCH);
+
+    private final AwsService service;
+
+    ActionGroup(AwsService service) {
+        this.service = service;
+    }
+
+    public AwsService service() {
+        return service;
+    }
+
+    public static Optional<ActionGroup> fromName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.awsaccess.catalog;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Services the backend allows, as listed in the LLM contract (allowedServices).
+ */
+public enum AwsService {
+
+    S3("S3", "s3"),
+    EC2("EC2", "ec2"),
+    CLOUDWATCH("CloudWatch", "logs", "cloudwatch");
+
+    private static final Map<String, AwsService> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(
+                    s -> s.contractName.toUpperCase(Locale.ROOT), Function.identity()));
+
+    private static final Map<String, AwsService> BY_ARN_NAMESPACE = Arrays.stream(values())
+            .flatMap(s -> Arrays.stream(s.arnNamespaces).map(ns -> Map.entry(ns, s)))
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    private final String contractName;
+    private final String[] arnNamespaces;
+
+    AwsService(String contractName, String... arnNamespaces) {
+        this.contractName = contractName;
+        this.arnNamespaces = arnNamespaces;
+    }
+
+    // Name used on the wire with the LLM service and in stored requests
+    public String contractName() {
+        return contractName;
+    }
+
+    public static Optional<AwsService> fromName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(BY_NAME.get(name.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    // Service segment of an ARN, e.g. "logs" in arn:aws:logs:...
+    public static Optional<AwsService> fromArnNamespace(String namespace) {
+        return Optional.ofNullable(BY_ARN_NAMESPACE.get(namespace));
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.awsaccess.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service → action group → IAM actions for everything the contract's
+ * allowedActionGroups can name. Built once; every lookup is an EnumMap get.
+ */
+@Component
+public class IamActionCatalog {
+
+    private final Map<AwsService, Map<ActionGroup, List<String>>> actions;
+
+    public IamActionCatalog() {
+        Map<AwsService, Map<ActionGroup, List<String>>> byService = new EnumMap<>(AwsService.class);
+
+        define(byService, ActionGroup.READ_OBJECTS, "s3:GetObject", "s3:GetObjectVersion");
+        define(byService, ActionGroup.UPLOAD_OBJECTS, "s3:PutObject", "s3:AbortMultipartUpload");
+        define(byService, ActionGroup.DELETE_OBJECTS, "s3:DeleteObject", "s3:DeleteObjectVersion");
+        define(byService, ActionGroup.LIST_BUCKET, "s3:ListBucket", "s3:GetBucketLocation");
+
+        define(byService, ActionGroup.READ_INSTANCES, "ec2:DescribeInstances", "ec2:DescribeInstanceStatus");
+        define(byService, ActionGroup.START_STOP_INSTANCES,
+                "ec2:StartInstances", "ec2:StopInstances", "ec2:RebootInstances");
+
+        define(byService, ActionGroup.READ_LOGS, "logs:DescribeLogGroups", "logs:DescribeLogStreams",
+                "logs:GetLogEvents", "logs:FilterLogEvents");
+        define(byService, ActionGroup.WRITE_LOGS, "logs:CreateLogStream", "logs:PutLogEvents");
+
+        for (ActionGroup group : ActionGroup.values()) {
+            if (!byService.get(group.service()).containsKey(group)) {
+                throw new IllegalStateException("No IAM actions defined for " + group);
+            }
+        }
+
+        byService.replaceAll((service, groups) -> Collections.unmodifiableMap(groups));
+        this.actions = Collections.unmodifiableMap(byService);
+    }
+
+    private static void define(
+            Map<AwsService, Map<ActionGroup, List<String>>> byService,
+            ActionGroup group,
+            String... iamActions
+    ) {
+        byService.computeIfAbsent(group.service(), s -> new EnumMap<>(ActionGroup.class))
+                .put(group, List.of(iamActions));
+    }
+
+    public Set<ActionGroup> groupsOf(AwsService service) {
+        return actions.getOrDefault(service, Map.of()).keySet();
+    }
+
+    public List<String> actionsFor(ActionGroup group) {
+        return actions.get(group.service()).get(group);
+    }
+
+    // Sorted and de-duplicated so equal grants produce identical policies
+    public List<String> actionsFor(Collection<ActionGroup> groups) {
+        Set<String> result = new TreeSet<>();
+        for (ActionGroup group : groups) {
+            result.addAll(actionsFor(group));
+        }
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.awsaccess.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Where blocking work (JPA callbacks after an LLM answer) runs once it
+ * leaves the WebClient event loop.
+ *
+ * With spring.threads.virtual.enabled=true Spring Boot already moves Tomcat
+ * request handling and @Scheduled jobs onto virtual threads; this puts the
+ * LLM completion path on them as well so the whole create flow is
+ * thread-per-task without a platform-thread ceiling.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (virtualThreads) {
+            return Schedulers.fromExecutorService(
+                    Executors.newVirtualThreadPerTaskExecutor(), "llm-completion-vt");
+        }
+        return Schedulers.newBoundedElastic(
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "llm-completion");
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.awsaccess.config;
+
+import com.company.awsaccess.cache.TtlLruCache;
+import com.company.awsaccess.llm.client.CachingLlmClient;
+import com.company.awsaccess.llm.client.CircuitBreaker;
+import com.company.awsaccess.llm.client.CoalescingLlmClient;
+import com.company.awsaccess.llm.client.FastPathLlmClient;
+import com.company.awsaccess.llm.client.InterpretRequestKey;
+import com.company.awsaccess.llm.client.LlmClient;
+import com.company.awsaccess.llm.client.LlmClientImpl;
+import com.company.awsaccess.llm.client.ResilientLlmClient;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.local.LocalRuleInterpreter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Assembles the LlmClient the rest of the app sees: the HTTP client wrapped
+ * in the cross-cutting decorators.
+ */
+@Configuration
+public class LlmClientConfig {
+
+    @Bean
+    public TtlLruCache<InterpretRequestKey, LlmInterpretResponse> interpretCache(
+            @Value("${llm.cache.max-entries:10000}") int maxEntries,
+            @Value("${llm.cache.ttl-seconds:1800}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        TtlLruCache<InterpretRequestKey, LlmInterpretResponse> cache =
+                new TtlLruCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+
+        FunctionCounter.builder("llm.cache.hits", cache, TtlLruCache::hitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.cache.misses", cache, TtlLruCache::missCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.cache.evictions", cache, TtlLruCache::evictionCount)
+                .register(meterRegistry);
+        Gauge.builder("llm.cache.size", cache, TtlLruCache::size)
+                .register(meterRegistry);
+
+        return cache;
+    }
+
+    @Bean
+    public ResilientLlmClient resilientLlmClient(
+            LlmClientImpl httpClient,
+            @Value("${llm.response-timeout-ms:8000}") long responseTimeoutMs,
+            @Value("${llm.retry.max-retries:1}") int maxRetries,
+            @Value("${llm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${llm.circuit-breaker.open-seconds:30}") long openSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        ResilientLlmClient client = new ResilientLlmClient(
+                httpClient,
+                new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds)),
+                Duration.ofMillis(responseTimeoutMs),
+                maxRetries
+        );
+
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("llm.circuit-breaker.state", client, c -> c.circuitState().ordinal())
+                .register(meterRegistry);
+
+        return client;
+    }
+
+    @Bean
+    public CoalescingLlmClient coalescingLlmClient(
+            ResilientLlmClient resilientLlmClient,
+            MeterRegistry meterRegistry
+    ) {
+        CoalescingLlmClient client = new CoalescingLlmClient(resilientLlmClient);
+
+        FunctionCounter.builder("llm.singleflight.coalesced", client, CoalescingLlmClient::coalescedCount)
+                .register(meterRegistry);
+        Gauge.builder("llm.singleflight.in-flight", client, CoalescingLlmClient::inFlightCount)
+                .register(meterRegistry);
+
+        return client;
+    }
+
+    // local rules -> cache -> single-flight -> timeout/retry/breaker -> HTTP
+    @Bean
+    @Primary
+    public LlmClient llmClient(
+            CoalescingLlmClient coalescingLlmClient,
+            TtlLruCache<InterpretRequestKey, LlmInterpretResponse> interpretCache,
+            MeterRegistry meterRegistry
+    ) {
+        LlmClient remote = new CachingLlmClient(coalescingLlmClient, interpretCache);
+        FastPathLlmClient client = new FastPathLlmClient(new LocalRuleInterpreter(), remote);
+
+        FunctionCounter.builder("llm.fastpath.hits", client, FastPathLlmClient::localHitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("llm.fastpath.fallbacks", client, FastPathLlmClient::remoteCallCount)
+                .register(meterRegistry);
+        Gauge.builder("llm.fastpath.hit-rate", client, FastPathLlmClient::hitRate)
+                .register(meterRegistry);
+
+        return client;
+    }
+}
@@ -1,58 +1,369 @@
 package com.company.awsaccess.controller;
 
+import com.company.awsaccess.admission.AdmissionControl;
 import com.company.awsaccess.dto.ApiResponse;
-import com.company.awsaccess.dto.mapper.AccessRequestMapper;
+import com.company.awsaccess.dto.request.BulkTransitionDto;
 import com.company.awsaccess.dto.request.CreateAccessRequestDto;
+import com.company.awsaccess.dto.request.EvaluationQueryDto;
+import com.company.awsaccess.dto.request.FollowupAnswerDto;
 import com.company.awsaccess.dto.response.AccessRequestResponseDto;
+import com.company.awsaccess.dto.response.ActiveGrantDto;
+import com.company.awsaccess.dto.response.BatchCreateResultDto;
+import com.company.awsaccess.dto.response.BulkTransitionResultDto;
+import com.company.awsaccess.dto.response.EvaluationResultDto;
+import com.company.awsaccess.llm.dto.FollowupQuestion;
 import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.AuditEntry;
+import com.company.awsaccess.model.GrantArtifact;
+import com.company.awsaccess.model.StatusTransition;
 import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.AuditEntryRepository;
 import com.company.awsaccess.service.AccessRequestService;
+import com.company.awsaccess.service.AwsCliCommandService;
+import com.company.awsaccess.service.GrantArtifactService;
+import com.company.awsaccess.service.GrantEvaluationIndex;
+import com.company.awsaccess.service.GrantExportService;
+import com.company.awsaccess.service.GrantQueryService;
+import com.company.awsaccess.service.IdempotencyStore;
+import com.company.awsaccess.service.StatusEventStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/access-requests")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {
+        AccessRequestController.NEXT_CURSOR_HEADER,
+        AccessRequestController.POLICY_PARTS_HEADER,
+        IdempotencyStore.REPLAYED_HEADER,
+        HttpHeaders.ETAG
+})
 public class AccessRequestController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String POLICY_PARTS_HEADER = "X-Policy-Parts";
+    static final String CALLER_HEADER = "X-Caller";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AccessRequestService service;
     private final AccessRequestRepository repository;
+    private final AuditEntryRepository auditRepository;
+    private final GrantQueryService grantQueryService;
+    private final GrantArtifactService grantArtifactService;
+    private final GrantExportService grantExportService;
+    private final StatusEventStream statusEventStream;
+    private final GrantEvaluationIndex grantEvaluationIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionControl admissionControl;
+    private final boolean asyncCreate;
+    private final int evaluationBatchMaxSize;
+    private final long exportTimeoutMs;
 
     public AccessRequestController(
             AccessRequestService service,
-            AccessRequestRepository repository
+            AccessRequestRepository repository,
+            AuditEntryRepository auditRepository,
+            GrantQueryService grantQueryService,
+            GrantArtifactService grantArtifactService,
+            GrantExportService grantExportService,
+            StatusEventStream statusEventStream,
+            GrantEvaluationIndex grantEvaluationIndex,
+            IdempotencyStore idempotencyStore,
+            AdmissionControl admissionControl,
+            @Value("${access-request.async-create:false}") boolean asyncCreate,
+            @Value("${access-request.evaluation.batch-max-size:1000}") int evaluationBatchMaxSize,
+            @Value("${access-request.export.timeout-ms:600000}") long exportTimeoutMs
     ) {
         this.service = service;
         this.repository = repository;
+        this.auditRepository = auditRepository;
+        this.grantQueryService = grantQueryService;
+        this.grantArtifactService = grantArtifactService;
+        this.grantExportService = grantExportService;
+        this.statusEventStream = statusEventStream;
+        this.grantEvaluationIndex = grantEvaluationIndex;
+        this.idempotencyStore = idempotencyStore;
+        this.admissionControl = admissionControl;
+        this.asyncCreate = asyncCreate;
+        this.evaluationBatchMaxSize = evaluationBatchMaxSize;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     // ✅ CREATE REQUEST (DTO-BASED, CLEAN)
+    // Async mode (opt-in) answers 202 with the INTERPRETING row; poll /{id}/status.
+    // Rate limited per requester and overall: 429 + Retry-After when refused
     @PostMapping
-    public ApiResponse<AccessRequest> create(
+    public ResponseEntity<ApiResponse<AccessRequest>> create(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody CreateAccessRequestDto dto
     ) {
-        return ApiResponse.success(service.create(dto));
+        String requester = requesterOf(dto);
+        String scope = "create:" + requester;
+        // a completed key is replayed without spending admission tokens
+        return idempotencyStore.<ApiResponse<AccessRequest>>findReplay(idempotencyKey, scope, dto)
+                .orElseGet(() -> admissionControl.admit(requester, idempotencyStore.isKnown(idempotencyKey, scope), 1,
+                        () -> idempotencyStore.execute(idempotencyKey, scope, dto, () -> {
+                            if (asyncCreate) {
+                                return ResponseEntity
+                                        .accepted()
+                                        .body(ApiResponse.success(service.createAsync(dto)));
+                            }
+                            return ResponseEntity.ok(ApiResponse.success(service.create(dto)));
+                        })));
+    }
+
+    // BATCH CREATE (squad onboarding); each requester in it pays one
+    // admission token per entry of theirs. The Idempotency-Key belongs to
+    // the submitting caller, or to the requester of a single-requester batch
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BatchCreateResultDto>>> createBatch(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerHeader,
+            Principal principal,
+            @RequestBody List<CreateAccessRequestDto> dtos
+    ) {
+        Map<String, Integer> costs = dtos.stream().collect(Collectors.groupingBy(
+                AccessRequestController::requesterOf, Collectors.summingInt(dto -> 1)));
+        String caller = caller(principal, callerHeader);
+        String owner = caller != null || costs.size() != 1 ? caller : costs.keySet().iterator().next();
+        String scope = idempotencyScope("batch", idempotencyKey, owner);
+        return idempotencyStore.<ApiResponse<List<BatchCreateResultDto>>>findReplay(idempotencyKey, scope, dtos)
+                .orElseGet(() -> admissionControl.admit(costs, idempotencyStore.isKnown(idempotencyKey, scope),
+                        () -> idempotencyStore.execute(idempotencyKey, scope, dtos,
+                                () -> ResponseEntity.ok(ApiResponse.success(service.createBatch(dtos))))));
+    }
+
+    // Idempotency keys and admission buckets belong to the requester of the body
+    private static String requesterOf(CreateAccessRequestDto dto) {
+        return dto.getRequesterEmail() == null ? "" : dto.getRequesterEmail().trim().toLowerCase(Locale.ROOT);
     }
 
     // ✅ DASHBOARD API (NO UI CHANGE)
+    // Body shape is unchanged; the next page is requested with
+    // ?cursor=<X-Next-Cursor>, and the header is absent on the last page.
+    // Without limit or cursor every matching row comes back, as before paging
     @GetMapping
-    public ApiResponse<List<AccessRequestResponseDto>> getAll() {
+    public ResponseEntity<ApiResponse<List<AccessRequestResponseDto>>> getAll(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) AccessRequestStatus status,
+            @RequestParam(required = false) String awsAccount,
+            @RequestParam(required = false) String requesterEmail,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo
+    ) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(ApiResponse.success(repository.findPage(
+                    null, status, awsAccount, requesterEmail, createdFrom, createdTo,
+                    Limit.unlimited())));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit == null ? DEFAULT_PAGE_SIZE : limit, MAX_PAGE_SIZE));
+
+        // one extra row tells us whether another page exists
+        List<AccessRequestResponseDto> rows = repository.findPage(
+                cursor, status, awsAccount, requesterEmail, createdFrom, createdTo,
+                Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(ApiResponse.success(rows));
+        }
+
+        List<AccessRequestResponseDto> page = rows.subList(0, pageSize);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(page.get(pageSize - 1).getId()))
+                .body(ApiResponse.success(page));
+    }
+
+    // LIVE STATUS UPDATES (replaces polling)
+    // "status" events carry one transition; "resync" means reload the list
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String requesterEmail,
+            @RequestParam(required = false) String awsAccount
+    ) {
+        return statusEventStream.subscribe(blankToNull(requesterEmail), blankToNull(awsAccount));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // WHO HAS ACCESS: ?arn=<arn or pattern> or ?service=S3
+    @GetMapping("/active-grants")
+    public ApiResponse<List<ActiveGrantDto>> activeGrants(
+            @RequestParam(required = false) String arn,
+            @RequestParam(required = false) String service
+    ) {
+        if (arn != null && !arn.isBlank()) {
+            return ApiResponse.success(grantQueryService.findActiveByArn(arn));
+        }
+        if (service != null && !service.isBlank()) {
+            return ApiResponse.success(grantQueryService.findActiveByService(service));
+        }
+        throw new IllegalStateException("Either arn or service is required");
+    }
 
-        List<AccessRequestResponseDto> response =
-                repository.findAll()
-                        .stream()
-                        .map(AccessRequestMapper::toDto)
-                        .collect(Collectors.toList());
+    // ACCESS EVALUATION: is requesterEmail allowed action on resource right now?
+    // Answered from the in-memory grant index; POST takes a batch of queries
+    @GetMapping("/evaluate")
+    public ApiResponse<EvaluationResultDto> evaluate(
+            @RequestParam String requesterEmail,
+            @RequestParam(required = false) String awsAccount,
+            @RequestParam String action,
+            @RequestParam String resource
+    ) {
+        EvaluationQueryDto query = new EvaluationQueryDto();
+        query.setRequesterEmail(requesterEmail);
+        query.setAwsAccount(awsAccount);
+        query.setAction(action);
+        query.setResource(resource);
+        return ApiResponse.success(grantEvaluationIndex.evaluate(query));
+    }
 
-        return ApiResponse.success(response);
+    @PostMapping("/evaluate")
+    public ApiResponse<List<EvaluationResultDto>> evaluateBatch(
+            @RequestBody List<EvaluationQueryDto> queries
+    ) {
+        if (queries.size() > evaluationBatchMaxSize) {
+            throw new IllegalStateException(
+                    "At most " + evaluationBatchMaxSize + " queries per batch");
+        }
+        return ApiResponse.success(grantEvaluationIndex.evaluateAll(queries));
     }
 
     // STATUS
     @GetMapping("/{id}/status")
     public ApiResponse<String> status(@PathVariable Long id) {
-        return ApiResponse.success(service.getById(id).getStatus().name());
+        return ApiResponse.success(service.getStatus(id).name());
+    }
+
+    // AUDIT TRAIL (oldest first; written asynchronously, lags by up to one flush)
+    @GetMapping("/{id}/audit")
+    public ApiResponse<List<AuditEntry>> audit(@PathVariable Long id) {
+        return ApiResponse.success(auditRepository.findByRequestIdOrderByIdAsc(id));
+    }
+
+    // POLICY + CLI (only while DEVOPS_APPROVED and unexpired)
+    // Rendered once at approval; If-None-Match with the ETag answers 304.
+    // Policies over the IAM size limit are split: ?part=N, count in X-Policy-Parts
+    @GetMapping("/{id}/policy")
+    public ResponseEntity<byte[]> policy(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int part,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        GrantArtifact artifact = grantArtifactService.getPolicy(id, part);
+        ResponseEntity<byte[]> response = artifactResponse(
+                artifact.getPolicyJson(), artifact.getPolicySha256(), ifNoneMatch,
+                MediaType.APPLICATION_JSON,
+                AwsCliCommandService.policyFileName(id, part, artifact.getParts()),
+                artifact.getParts());
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            grantArtifactService.recordPolicyExported(artifact);
+        }
+        return response;
+    }
+
+    // One create-policy command per line, one line per policy document
+    @GetMapping("/{id}/cli")
+    public ResponseEntity<byte[]> cliCommand(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        List<GrantArtifact> artifacts = grantArtifactService.getCliCommands(id);
+        return artifactResponse(
+                GrantArtifactService.cliScript(artifacts),
+                GrantArtifactService.cliScriptSha256(artifacts), ifNoneMatch,
+                MediaType.TEXT_PLAIN, null, artifacts.size());
+    }
+
+    // BULK EXPORT of every active grant: ?format=ndjson (default) or zip
+    // Streamed off the request thread with its own async timeout, since a
+    // large export outlives the container default
+    @GetMapping("/export")
+    public WebAsyncTask<ResponseEntity<Void>> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) {
+        Consumer<OutputStream> writer;
+        if ("zip".equalsIgnoreCase(format)) {
+            response.setContentType("application/zip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"active-grants.zip\"");
+            writer = grantExportService::writeZip;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            writer = grantExportService::writeNdjson;
+        } else {
+            throw new IllegalStateException("Unsupported export format: " + format);
+        }
+
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            writer.accept(response.getOutputStream());
+            response.flushBuffer();
+            // the body is already written
+            return null;
+        });
+    }
+
+    private static ResponseEntity<byte[]> artifactResponse(
+            String body,
+            String sha256,
+            String ifNoneMatch,
+            MediaType contentType,
+            String fileName,
+            int parts
+    ) {
+        String etag = "\"" + sha256 + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .header(POLICY_PARTS_HEADER, String.valueOf(parts))
+                .contentType(contentType);
+        if (fileName != null) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        }
+        return response.body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // FOLLOW-UP
+    @GetMapping("/{id}/followup")
+    public ApiResponse<List<FollowupQuestion>> followupQuestions(@PathVariable Long id) {
+        return ApiResponse.success(service.getFollowupQuestions(id));
+    }
+
+    @PostMapping("/{id}/followup")
+    public ApiResponse<AccessRequest> followup(
+            @PathVariable Long id,
+            @RequestBody FollowupAnswerDto dto
+    ) {
+        return ApiResponse.success(service.resolveFollowup(id, dto.getAnswer()));
     }
 
     // MANAGER
@@ -76,4 +387,78 @@ public class AccessRequestController {
     public ApiResponse<AccessRequest> devopsReject(@PathVariable Long id) {
         return ApiResponse.success(service.rejectByDevOps(id));
     }
+
+    // BULK (body: {"ids": [...]}); one result per id, failures included.
+    // A retry with the same Idempotency-Key replays the first result to the
+    // same caller; a key needs the caller identified (principal or X-Caller)
+    @PostMapping("/bulk/manager/approve")
+    public ResponseEntity<ApiResponse<List<BulkTransitionResultDto>>> bulkManagerApprove(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerHeader,
+            Principal principal,
+            @RequestBody BulkTransitionDto dto
+    ) {
+        return bulkTransition(idempotencyKey, caller(principal, callerHeader), dto, StatusTransition.MANAGER_APPROVE);
+    }
+
+    @PostMapping("/bulk/manager/reject")
+    public ResponseEntity<ApiResponse<List<BulkTransitionResultDto>>> bulkManagerReject(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerHeader,
+            Principal principal,
+            @RequestBody BulkTransitionDto dto
+    ) {
+        return bulkTransition(idempotencyKey, caller(principal, callerHeader), dto, StatusTransition.MANAGER_REJECT);
+    }
+
+    @PostMapping("/bulk/devops/approve")
+    public ResponseEntity<ApiResponse<List<BulkTransitionResultDto>>> bulkDevopsApprove(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerHeader,
+            Principal principal,
+            @RequestBody BulkTransitionDto dto
+    ) {
+        return bulkTransition(idempotencyKey, caller(principal, callerHeader), dto, StatusTransition.DEVOPS_APPROVE);
+    }
+
+    @PostMapping("/bulk/devops/reject")
+    public ResponseEntity<ApiResponse<List<BulkTransitionResultDto>>> bulkDevopsReject(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = CALLER_HEADER, required = false) String callerHeader,
+            Principal principal,
+            @RequestBody BulkTransitionDto dto
+    ) {
+        return bulkTransition(idempotencyKey, caller(principal, callerHeader), dto, StatusTransition.DEVOPS_REJECT);
+    }
+
+    private ResponseEntity<ApiResponse<List<BulkTransitionResultDto>>> bulkTransition(
+            String idempotencyKey,
+            String caller,
+            BulkTransitionDto dto,
+            StatusTransition transition
+    ) {
+        String scope = idempotencyScope("bulk:" + transition, idempotencyKey, caller);
+        return idempotencyStore.execute(idempotencyKey, scope, dto,
+                () -> ResponseEntity.ok(ApiResponse.success(service.transitionAll(dto.getIds(), transition))));
+    }
+
+    // The authenticated principal if any, else the X-Caller header the
+    // frontend and automation send; null when the caller is unknown
+    private static String caller(Principal principal, String callerHeader) {
+        String name = principal != null ? principal.getName() : callerHeader;
+        return name == null || name.isBlank() ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Stored responses are keyed by owner plus key, so two callers sending
+    // the same key never see each other's result
+    private static String idempotencyScope(String endpoint, String idempotencyKey, String owner) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return endpoint;
+        }
+        if (owner == null || owner.isEmpty()) {
+            throw new IllegalStateException(IdempotencyStore.KEY_HEADER + " needs the caller identified by "
+                    + CALLER_HEADER + " or authentication");
+        }
+        return endpoint + ":" + owner;
+    }
 }
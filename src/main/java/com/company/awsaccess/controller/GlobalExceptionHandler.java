@@ -1,6 +1,13 @@
 package com.company.awsaccess.controller;
 
+import com.company.awsaccess.admission.AdmissionRejectedException;
 import com.company.awsaccess.dto.ApiResponse;
+import com.company.awsaccess.llm.client.LlmUnavailableException;
+import com.company.awsaccess.service.CoveredRequestException;
+import com.company.awsaccess.service.IdempotencyConflictException;
+import com.company.awsaccess.service.StatusConflictException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,6 +24,53 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(LlmUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleLlmUnavailable(
+            LlmUnavailableException ex) {
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(StatusConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleStatusConflict(
+            StatusConflictException ex) {
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleAdmissionRejected(
+            AdmissionRejectedException ex) {
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleIdempotencyConflict(
+            IdempotencyConflictException ex) {
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    // The body's data references the request that already covers this one
+    @ExceptionHandler(CoveredRequestException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCovered(
+            CoveredRequestException ex) {
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, ex.getCovering(), ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Object>> handleGeneric(Exception ex) {
 
@@ -0,0 +1,16 @@
+package com.company.awsaccess.dto.request;
+
+import java.util.List;
+
+public class BulkTransitionDto {
+
+    private List<Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.awsaccess.dto.request;
+
+public class EvaluationQueryDto {
+
+    private String requesterEmail;
+    // optional; null means any account
+    private String awsAccount;
+    private String action;
+    private String resource;
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public void setRequesterEmail(String requesterEmail) {
+        this.requesterEmail = requesterEmail;
+    }
+
+    public String getAwsAccount() {
+        return awsAccount;
+    }
+
+    public void setAwsAccount(String awsAccount) {
+        this.awsAccount = awsAccount;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.awsaccess.dto.request;
+
+public class FollowupAnswerDto {
+
+    private String answer;
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+}
@@ -1,5 +1,7 @@
 package com.company.awsaccess.dto.response;
 
+import com.company.awsaccess.model.AccessRequestStatus;
+
 import java.time.LocalDateTime;
 
 public class AccessRequestResponseDto {
@@ -27,6 +29,18 @@ public class AccessRequestResponseDto {
         this.services = services;
     }
 
+    // Used by the JPQL constructor projection
+    public AccessRequestResponseDto(
+            Long id,
+            String requesterEmail,
+            String awsAccount,
+            AccessRequestStatus status,
+            LocalDateTime createdAt,
+            String services
+    ) {
+        this(id, requesterEmail, awsAccount, status.name(), createdAt, services);
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,54 @@
+package com.company.awsaccess.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ActiveGrantDto {
+
+    private Long id;
+    private String requesterEmail;
+    private String awsAccount;
+    private List<String> services;
+    private List<String> matchedResourceArns;
+    private LocalDateTime expiresAt;
+
+    public ActiveGrantDto(
+            Long id,
+            String requesterEmail,
+            String awsAccount,
+            List<String> services,
+            List<String> matchedResourceArns,
+            LocalDateTime expiresAt
+    ) {
+        this.id = id;
+        this.requesterEmail = requesterEmail;
+        this.awsAccount = awsAccount;
+        this.services = services;
+        this.matchedResourceArns = matchedResourceArns;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public String getAwsAccount() {
+        return awsAccount;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public List<String> getMatchedResourceArns() {
+        return matchedResourceArns;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.awsaccess.dto.response;
+
+public class BatchCreateResultDto {
+
+    private int index;
+    private boolean success;
+    private Long id;
+    private String status;
+    private String error;
+
+    public BatchCreateResultDto(
+            int index,
+            boolean success,
+            Long id,
+            String status,
+            String error
+    ) {
+        this.index = index;
+        this.success = success;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BatchCreateResultDto created(int index, Long id, String status) {
+        return new BatchCreateResultDto(index, true, id, status, null);
+    }
+
+    // id and status are those of the request that already covers this one
+    public static BatchCreateResultDto covered(int index, CoveringGrantDto covering) {
+        return new BatchCreateResultDto(index, false, covering.getRequestId(), covering.getStatus(),
+                "Already covered by access request " + covering.getRequestId());
+    }
+
+    public static BatchCreateResultDto failed(int index, String error) {
+        return new BatchCreateResultDto(index, false, null, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.awsaccess.dto.response;
+
+public class BulkTransitionResultDto {
+
+    private Long id;
+    private boolean success;
+    private String status;
+    private String error;
+
+    public BulkTransitionResultDto(
+            Long id,
+            boolean success,
+            String status,
+            String error
+    ) {
+        this.id = id;
+        this.success = success;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkTransitionResultDto applied(Long id, String status) {
+        return new BulkTransitionResultDto(id, true, status, null);
+    }
+
+    // status is the one the request was actually in (null if not found)
+    public static BulkTransitionResultDto rejected(Long id, String status, String error) {
+        return new BulkTransitionResultDto(id, false, status, error);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
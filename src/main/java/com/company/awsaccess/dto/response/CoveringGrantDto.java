@@ -0,0 +1,30 @@
+package com.company.awsaccess.dto.response;
+
+import java.time.LocalDateTime;
+
+// The open request that already covers a new one
+public class CoveringGrantDto {
+
+    private Long requestId;
+    private String status;
+    // set once DevOps approved
+    private LocalDateTime expiresAt;
+
+    public CoveringGrantDto(Long requestId, String status, LocalDateTime expiresAt) {
+        this.requestId = requestId;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.awsaccess.dto.response;
+
+import java.time.LocalDateTime;
+
+public class EvaluationResultDto {
+
+    private String requesterEmail;
+    private String awsAccount;
+    private String action;
+    private String resource;
+    private boolean allowed;
+    // the grant that allows it; null on deny
+    private Long requestId;
+    private LocalDateTime expiresAt;
+
+    public EvaluationResultDto(
+            String requesterEmail,
+            String awsAccount,
+            String action,
+            String resource,
+            boolean allowed,
+            Long requestId,
+            LocalDateTime expiresAt
+    ) {
+        this.requesterEmail = requesterEmail;
+        this.awsAccount = awsAccount;
+        this.action = action;
+        this.resource = resource;
+        this.allowed = allowed;
+        this.requestId = requestId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public String getAwsAccount() {
+        return awsAccount;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
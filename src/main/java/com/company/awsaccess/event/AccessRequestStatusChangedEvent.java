@@ -0,0 +1,80 @@
+package com.company.awsaccess.event;
+
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a status transition has been written to the database.
+ * previousStatus is null for a newly created request.
+ */
+public class AccessRequestStatusChangedEvent {
+
+    private final Long requestId;
+    private final AccessRequestStatus previousStatus;
+    private final AccessRequestStatus status;
+    private final String requesterEmail;
+    private final String awsAccount;
+    private final LocalDateTime expiresAt;
+    private final LocalDateTime occurredAt;
+
+    public AccessRequestStatusChangedEvent(
+            Long requestId,
+            AccessRequestStatus previousStatus,
+            AccessRequestStatus status,
+            String requesterEmail,
+            String awsAccount,
+            LocalDateTime expiresAt
+    ) {
+        this.requestId = requestId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.requesterEmail = requesterEmail;
+        this.awsAccount = awsAccount;
+        this.expiresAt = expiresAt;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static AccessRequestStatusChangedEvent of(
+            AccessRequest req,
+            AccessRequestStatus previousStatus
+    ) {
+        return new AccessRequestStatusChangedEvent(
+                req.getId(),
+                previousStatus,
+                req.getStatus(),
+                req.getRequesterEmail(),
+                req.getAwsAccount(),
+                req.getExpiresAt()
+        );
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public AccessRequestStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public AccessRequestStatus getStatus() {
+        return status;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public String getAwsAccount() {
+        return awsAccount;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
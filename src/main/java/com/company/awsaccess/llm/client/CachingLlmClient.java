@@ -0,0 +1,51 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.cache.TtlLruCache;
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated interpretations from memory.
+ *
+ * Only complete answers (needFollowup=false) are cached; a follow-up answer
+ * depends on a conversation that the cache knows nothing about.
+ */
+public class CachingLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+    private final TtlLruCache<InterpretRequestKey, LlmInterpretResponse> cache;
+
+    public CachingLlmClient(
+            LlmClient delegate,
+            TtlLruCache<InterpretRequestKey, LlmInterpretResponse> cache
+    ) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest request) {
+
+        InterpretRequestKey key = InterpretRequestKey.of(request);
+
+        LlmInterpretResponse cached = cache.get(key);
+        if (cached != null) {
+            return Mono.just(cached.copyFor(request));
+        }
+
+        return delegate.interpretAsync(request)
+                .doOnNext(resp -> {
+                    if (Boolean.FALSE.equals(resp.getNeedFollowup())) {
+                        cache.put(key, resp.copyFor(request));
+                    }
+                });
+    }
+
+    // Follow-up answers are conversation-specific; nothing to cache
+    @Override
+    public Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest request) {
+        return delegate.resolveFollowupAsync(request);
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight for interpret calls: concurrent identical requests share
+ * the one outstanding call and all receive its result (or its error).
+ *
+ * Entries live only while the call is in flight, so nothing is ever served
+ * stale from here.
+ */
+public class CoalescingLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+    private final ConcurrentMap<InterpretRequestKey, Mono<LlmInterpretResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public CoalescingLlmClient(LlmClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest request) {
+        return Mono.defer(() -> {
+            InterpretRequestKey key = InterpretRequestKey.of(request);
+
+            boolean[] leader = {false};
+            Mono<LlmInterpretResponse> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return delegate.interpretAsync(request)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+
+            if (!leader[0]) {
+                coalesced.increment();
+            }
+
+            return shared.map(resp -> resp.copyFor(request));
+        });
+    }
+
+    // Follow-up answers are conversation-specific; nothing to share
+    @Override
+    public Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest request) {
+        return delegate.resolveFollowupAsync(request);
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
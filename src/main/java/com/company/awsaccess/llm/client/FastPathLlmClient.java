@@ -0,0 +1,61 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import com.company.awsaccess.llm.local.LocalRuleInterpreter;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers well-formed requests locally and only sends the ambiguous ones
+ * to the remote LLM.
+ */
+public class FastPathLlmClient implements LlmClient {
+
+    private final LocalRuleInterpreter interpreter;
+    private final LlmClient delegate;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+
+    public FastPathLlmClient(LocalRuleInterpreter interpreter, LlmClient delegate) {
+        this.interpreter = interpreter;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest request) {
+
+        Optional<LlmInterpretResponse> local = interpreter.interpret(request);
+        if (local.isPresent()) {
+            localHits.increment();
+            return Mono.just(local.get());
+        }
+
+        remoteCalls.increment();
+        return delegate.interpretAsync(request);
+    }
+
+    // Follow-up answers are conversation-specific; nothing to resolve locally
+    @Override
+    public Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest request) {
+        return delegate.resolveFollowupAsync(request);
+    }
+
+    public long localHitCount() {
+        return localHits.sum();
+    }
+
+    public long remoteCallCount() {
+        return remoteCalls.sum();
+    }
+
+    public double hitRate() {
+        long hits = localHits.sum();
+        long total = hits + remoteCalls.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical form of an interpret request, used to recognise requests that
+ * the LLM would answer identically.
+ *
+ * The requester and requestId are deliberately left out: two people asking
+ * for the same thing in the same account get the same interpretation.
+ */
+public final class InterpretRequestKey {
+
+    private static final Pattern NOISE = Pattern.compile("[^a-z0-9:/*._-]+");
+
+    private final String value;
+
+    private InterpretRequestKey(String value) {
+        this.value = value;
+    }
+
+    public static InterpretRequestKey of(LlmInterpretRequest req) {
+        String value = String.join("|",
+                normalizeReason(req.getReason()),
+                Objects.toString(req.getAwsAccount(), "").trim(),
+                canonicalList(req.getServices(), true),
+                canonicalList(req.getActionGroups(), true),
+                canonicalList(req.getResourceArns(), false),
+                Objects.toString(req.getDurationHours(), "")
+        );
+        return new InterpretRequestKey(value);
+    }
+
+    static String normalizeReason(String reason) {
+        if (reason == null) {
+            return "";
+        }
+        return NOISE.matcher(reason.toLowerCase(Locale.ROOT))
+                .replaceAll(" ")
+                .trim();
+    }
+
+    // ARNs are case-sensitive, service and action group names are not
+    private static String canonicalList(List<String> values, boolean ignoreCase) {
+        if (values == null) {
+            return "";
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .map(v -> ignoreCase ? v.toUpperCase(Locale.ROOT) : v)
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof InterpretRequestKey other && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
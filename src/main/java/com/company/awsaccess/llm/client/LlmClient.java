@@ -2,8 +2,21 @@ package com.company.awsaccess.llm.client;
 
 import com.company.awsaccess.llm.dto.LlmInterpretRequest;
 import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import reactor.core.publisher.Mono;
 
 public interface LlmClient {
 
-    LlmInterpretResponse interpret(LlmInterpretRequest request);
+    Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest request);
+
+    Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest request);
+
+    // Blocking variants for callers that still run on a request thread
+    default LlmInterpretResponse interpret(LlmInterpretRequest request) {
+        return interpretAsync(request).block();
+    }
+
+    default LlmInterpretResponse resolveFollowup(LlmResolveFollowupRequest request) {
+        return resolveFollowupAsync(request).block();
+    }
 }
@@ -2,22 +2,47 @@ package com.company.awsaccess.llm.client;
 
 import com.company.awsaccess.llm.dto.LlmInterpretRequest;
 import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Component
 public class LlmClientImpl implements LlmClient {
 
     private final WebClient webClient;
 
-    public LlmClientImpl(WebClient.Builder builder) {
-        this.webClient = builder
-                .baseUrl("http://localhost:9000")
+    public LlmClientImpl(
+            WebClient.Builder builder,
+            @Value("${llm.base-url:http://localhost:9000}") String baseUrl,
+            @Value("${llm.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${llm.pool.max-connections:50}") int maxConnections,
+            @Value("${llm.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs
+    ) {
+        // Dedicated, sized pool: a slow LLM must not hold more sockets than this
+        ConnectionProvider pool = ConnectionProvider.builder("llm")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+
+        this.webClient = builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
     @Override
-    public LlmInterpretResponse interpret(LlmInterpretRequest req) {
+    public Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest req) {
 
         // 🔑 REQUIRED by FastAPI
         if (req.getRequestId() == null || req.getRequestId().isBlank()) {
@@ -28,7 +53,15 @@ public class LlmClientImpl implements LlmClient {
                 .uri("/api/v1/llm/interpret")
                 .bodyValue(req)
                 .retrieve()
-                .bodyToMono(LlmInterpretResponse.class)
-                .block();
+                .bodyToMono(LlmInterpretResponse.class);
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest req) {
+        return webClient.post()
+                .uri("/api/v1/llm/resolve-followup")
+                .bodyValue(req)
+                .retrieve()
+                .bodyToMono(LlmInterpretResponse.class);
     }
 }
@@ -0,0 +1,89 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Applies the contract's integration policy (section 9) to LLM calls:
+ * a per-attempt timeout, one retry on timeout / I/O error / 5xx, no retry
+ * on 4xx, and a circuit breaker so an unhealthy LLM service is failed
+ * fast with LlmUnavailableException instead of piling up waiting callers.
+ */
+public class ResilientLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration attemptTimeout;
+    private final int maxRetries;
+
+    public ResilientLlmClient(
+            LlmClient delegate,
+            CircuitBreaker circuitBreaker,
+            Duration attemptTimeout,
+            int maxRetries
+    ) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.attemptTimeout = attemptTimeout;
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> interpretAsync(LlmInterpretRequest request) {
+        return guard(() -> delegate.interpretAsync(request));
+    }
+
+    @Override
+    public Mono<LlmInterpretResponse> resolveFollowupAsync(LlmResolveFollowupRequest request) {
+        return guard(() -> delegate.resolveFollowupAsync(request));
+    }
+
+    private Mono<LlmInterpretResponse> guard(Supplier<Mono<LlmInterpretResponse>> call) {
+        return Mono.defer(() -> {
+
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new LlmUnavailableException(
+                        "LLM interpretation unavailable, try again shortly"));
+            }
+
+            return Mono.defer(call)
+                    .timeout(attemptTimeout)
+                    .retryWhen(Retry.max(maxRetries)
+                            .filter(ResilientLlmClient::isTransient)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(resp -> circuitBreaker.onSuccess())
+                    .doOnError(error -> {
+                        if (isTransient(error)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            // 4xx: the service answered, it is healthy
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .onErrorMap(ResilientLlmClient::isTransient,
+                            error -> new LlmUnavailableException("LLM interpretation unavailable", error));
+        });
+    }
+
+    static boolean isTransient(Throwable error) {
+        if (error instanceof TimeoutException || error instanceof WebClientRequestException) {
+            return true;
+        }
+        return error instanceof WebClientResponseException response
+                && response.getStatusCode().is5xxServerError();
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+}
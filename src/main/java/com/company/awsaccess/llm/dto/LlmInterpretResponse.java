@@ -1,5 +1,6 @@
 package com.company.awsaccess.llm.dto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class LlmInterpretResponse {
@@ -8,6 +9,8 @@ public class LlmInterpretResponse {
 
     private List<FollowupQuestion> followupQuestions;
 
+    private LlmPartialData partialData;
+
     private String requesterEmail;
     private String awsAccount;
     private String reason;
@@ -32,6 +35,14 @@ public class LlmInterpretResponse {
         this.followupQuestions = followupQuestions;
     }
 
+    public LlmPartialData getPartialData() {
+        return partialData;
+    }
+
+    public void setPartialData(LlmPartialData partialData) {
+        this.partialData = partialData;
+    }
+
     public String getRequesterEmail() {
         return requesterEmail;
     }
@@ -87,4 +98,27 @@ public class LlmInterpretResponse {
     public void setActionGroups(List<String> actionGroups) {
         this.actionGroups = actionGroups;
     }
+
+    /**
+     * Copy of this interpretation re-addressed to another request, so a
+     * shared result never leaks one requester's details to another.
+     */
+    public LlmInterpretResponse copyFor(LlmInterpretRequest request) {
+        LlmInterpretResponse copy = new LlmInterpretResponse();
+        copy.setNeedFollowup(needFollowup);
+        copy.setFollowupQuestions(copyOf(followupQuestions));
+        copy.setPartialData(partialData == null ? null : partialData.copy());
+        copy.setRequesterEmail(request.getRequesterEmail());
+        copy.setAwsAccount(awsAccount);
+        copy.setReason(request.getReason());
+        copy.setServices(copyOf(services));
+        copy.setResourceArns(copyOf(resourceArns));
+        copy.setDurationHours(durationHours);
+        copy.setActionGroups(copyOf(actionGroups));
+        return copy;
+    }
+
+    private static <T> List<T> copyOf(List<T> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
 }
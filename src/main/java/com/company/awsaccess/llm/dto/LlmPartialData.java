@@ -0,0 +1,53 @@
+package com.company.awsaccess.llm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LlmPartialData {
+
+    private List<String> services;
+    private List<String> actionGroups;
+    private List<String> resourceArns;
+    private Integer durationHours;
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public void setServices(List<String> services) {
+        this.services = services;
+    }
+
+    public List<String> getActionGroups() {
+        return actionGroups;
+    }
+
+    public void setActionGroups(List<String> actionGroups) {
+        this.actionGroups = actionGroups;
+    }
+
+    public List<String> getResourceArns() {
+        return resourceArns;
+    }
+
+    public void setResourceArns(List<String> resourceArns) {
+        this.resourceArns = resourceArns;
+    }
+
+    public Integer getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(Integer durationHours) {
+        this.durationHours = durationHours;
+    }
+
+    public LlmPartialData copy() {
+        LlmPartialData copy = new LlmPartialData();
+        copy.setServices(services == null ? null : new ArrayList<>(services));
+        copy.setActionGroups(actionGroups == null ? null : new ArrayList<>(actionGroups));
+        copy.setResourceArns(resourceArns == null ? null : new ArrayList<>(resourceArns));
+        copy.setDurationHours(durationHours);
+        return copy;
+    }
+}
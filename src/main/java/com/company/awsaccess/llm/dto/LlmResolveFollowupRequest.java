@@ -0,0 +1,41 @@
+package com.company.awsaccess.llm.dto;
+
+public class LlmResolveFollowupRequest {
+
+    private String requestId;
+    private String reason;
+    private LlmPartialData previousSuggestion;
+    private String followupAnswer;
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LlmPartialData getPreviousSuggestion() {
+        return previousSuggestion;
+    }
+
+    public void setPreviousSuggestion(LlmPartialData previousSuggestion) {
+        this.previousSuggestion = previousSuggestion;
+    }
+
+    public String getFollowupAnswer() {
+        return followupAnswer;
+    }
+
+    public void setFollowupAnswer(String followupAnswer) {
+        this.followupAnswer = followupAnswer;
+    }
+}
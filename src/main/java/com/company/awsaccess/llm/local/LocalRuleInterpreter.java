@@ -0,0 +1,196 @@
+package com.company.awsaccess.llm.local;
+
+import com.company.awsaccess.catalog.ActionGroup;
+import com.company.awsaccess.catalog.AwsService;
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic interpreter for requests that already spell out what they
+ * need: ARNs, duration and a reason that names the contract's action
+ * groups outright, or says what to do to what ("upload build files",
+ * "restart the instance", "ship app logs").
+ *
+ * It only answers when every mandatory field is present and every ARN and
+ * service is in the catalog; anything else returns empty and is left to
+ * the LLM.
+ */
+public class LocalRuleInterpreter {
+
+    // arn:partition:service:region:account:resource
+    private static final Pattern ARN = Pattern.compile(
+            "^arn:aws(?:-[a-z]+)*:([a-z0-9-]+):([a-z0-9-]*):(\\d{12})?:(.+)$");
+
+    private static final Pattern ACCOUNT = Pattern.compile("^\\d{12}$");
+
+    // A verb only counts next to its service's noun, with at most an article
+    // and two plain words between ("stop the dev instances", but not "start
+    // investigating the instance") and the noun ending the phrase ("stop
+    // the instance migration" does not count). The catalog name itself
+    // (upload_objects) counts too. Generic verbs (get, read, view, write)
+    // are left to the LLM
+    private static final Map<ActionGroup, Pattern> KEYWORDS = new EnumMap<>(ActionGroup.class);
+
+    private static final String OBJECT_NOUNS = "objects?|files?|artifacts?|backups?";
+    private static final String INSTANCE_NOUNS = "instances?|ec2|servers?|vms?|hosts?";
+    private static final String LOG_NOUNS = "logs?|log groups?|log streams?";
+
+    private static final String DETERMINER = "the|a|an|my|our|this|these|those|its|their|all|both|some|any";
+    // never one of the plain words between verb and noun
+    private static final String FUNCTION_WORD = DETERMINER
+            + "|to|from|into|on|in|with|for|of|at|by|about|over|after|before|and|or|but|if"
+            + "|why|what|how|when|where|that|which|who|is|are|was|be|it|them";
+    // what may follow the noun: the end of the phrase
+    private static final String PHRASE_END = "to|from|into|for|in|on|at|of|and|or|so|until|during|while"
+            + "|before|after|when|because|with|as|by|via|if|since|every|each|daily|nightly|weekly";
+
+    // Any of these anywhere in the reason and the verbs cannot be trusted
+    private static final Pattern NEGATION = Pattern.compile(
+            "\\b(?:no|not|never|without|nor|except|avoid)\\b|n't\\b|\\bdont\\b");
+
+    static {
+        KEYWORDS.put(ActionGroup.READ_OBJECTS, phrase(ActionGroup.READ_OBJECTS, "download|fetch", OBJECT_NOUNS));
+        KEYWORDS.put(ActionGroup.UPLOAD_OBJECTS, phrase(ActionGroup.UPLOAD_OBJECTS, "upload", OBJECT_NOUNS));
+        KEYWORDS.put(ActionGroup.DELETE_OBJECTS, phrase(ActionGroup.DELETE_OBJECTS, "delete|purge", OBJECT_NOUNS));
+        KEYWORDS.put(ActionGroup.LIST_BUCKET, phrase(ActionGroup.LIST_BUCKET, "browse|list", "buckets?"));
+        KEYWORDS.put(ActionGroup.READ_INSTANCES,
+                phrase(ActionGroup.READ_INSTANCES, "describe|inspect", INSTANCE_NOUNS));
+        KEYWORDS.put(ActionGroup.START_STOP_INSTANCES,
+                phrase(ActionGroup.START_STOP_INSTANCES, "start|stop|restart|reboot", INSTANCE_NOUNS));
+        KEYWORDS.put(ActionGroup.READ_LOGS, phrase(ActionGroup.READ_LOGS, "tail", LOG_NOUNS));
+        KEYWORDS.put(ActionGroup.WRITE_LOGS, phrase(ActionGroup.WRITE_LOGS, "ship", LOG_NOUNS));
+    }
+
+    private static Pattern phrase(ActionGroup group, String verbs, String nouns) {
+        String word = "(?!(?:" + FUNCTION_WORD + ")\\b)(?![a-z0-9-]*ing\\b)[a-z0-9][a-z0-9_./-]*";
+        return Pattern.compile("\\b" + group.name().toLowerCase(Locale.ROOT) + "\\b"
+                + "|\\b(?:" + verbs + ")"
+                + "(?:\\s+(?:" + DETERMINER + "))?"
+                + "(?:\\s+" + word + "){0,2}"
+                + "\\s+(?:" + nouns + ")"
+                + "(?=\\s*$|\\s*[.,;:!?)]|\\s+(?:" + PHRASE_END + ")\\b)");
+    }
+
+    public Optional<LlmInterpretResponse> interpret(LlmInterpretRequest req) {
+
+        if (isBlank(req.getRequesterEmail())
+                || isBlank(req.getReason())
+                || req.getAwsAccount() == null
+                || !ACCOUNT.matcher(req.getAwsAccount()).matches()
+                || req.getDurationHours() == null
+                || req.getDurationHours() <= 0
+                || req.getResourceArns() == null
+                || req.getResourceArns().isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Services come from the ARNs; explicit ones must agree
+        Set<AwsService> services = EnumSet.noneOf(AwsService.class);
+        for (String arn : req.getResourceArns()) {
+            Matcher m = arn == null ? null : ARN.matcher(arn.trim());
+            if (m == null || !m.matches()) {
+                return Optional.empty();
+            }
+            String account = m.group(3);
+            if (account != null && !account.equals(req.getAwsAccount())) {
+                return Optional.empty();
+            }
+            Optional<AwsService> service = AwsService.fromArnNamespace(m.group(1));
+            if (service.isEmpty()) {
+                return Optional.empty();
+            }
+            services.add(service.get());
+        }
+
+        if (req.getServices() != null && !req.getServices().isEmpty()) {
+            Set<AwsService> declared = EnumSet.noneOf(AwsService.class);
+            for (String name : req.getServices()) {
+                Optional<AwsService> service = AwsService.fromName(name);
+                if (service.isEmpty()) {
+                    return Optional.empty();
+                }
+                declared.add(service.get());
+            }
+            if (!declared.equals(services)) {
+                return Optional.empty();
+            }
+        }
+
+        Optional<Set<ActionGroup>> groups = resolveActionGroups(req, services);
+        if (groups.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LlmInterpretResponse resp = new LlmInterpretResponse();
+        resp.setNeedFollowup(false);
+        resp.setRequesterEmail(req.getRequesterEmail());
+        resp.setAwsAccount(req.getAwsAccount());
+        resp.setReason(req.getReason());
+        resp.setServices(services.stream().map(AwsService::contractName).toList());
+        resp.setResourceArns(req.getResourceArns().stream().map(String::trim).toList());
+        resp.setDurationHours(req.getDurationHours());
+        resp.setActionGroups(groups.get().stream().map(ActionGroup::name).toList());
+        return Optional.of(resp);
+    }
+
+    /**
+     * Explicit actionGroups are taken as given. Otherwise the reason must
+     * name exactly one group per service, by name or verb plus noun, and
+     * contain no negation; anything less clear-cut is the LLM's call.
+     */
+    private Optional<Set<ActionGroup>> resolveActionGroups(
+            LlmInterpretRequest req,
+            Set<AwsService> services
+    ) {
+        Set<ActionGroup> groups = EnumSet.noneOf(ActionGroup.class);
+
+        if (req.getActionGroups() != null && !req.getActionGroups().isEmpty()) {
+            for (String name : req.getActionGroups()) {
+                Optional<ActionGroup> group = ActionGroup.fromName(name);
+                if (group.isEmpty() || !services.contains(group.get().service())) {
+                    return Optional.empty();
+                }
+                groups.add(group.get());
+            }
+            List<AwsService> uncovered = new ArrayList<>(services);
+            groups.forEach(g -> uncovered.remove(g.service()));
+            return uncovered.isEmpty() ? Optional.of(groups) : Optional.empty();
+        }
+
+        String reason = req.getReason().toLowerCase(Locale.ROOT);
+        if (NEGATION.matcher(reason).find()) {
+            return Optional.empty();
+        }
+
+        Map<AwsService, ActionGroup> byService = new EnumMap<>(AwsService.class);
+        for (Map.Entry<ActionGroup, Pattern> entry : KEYWORDS.entrySet()) {
+            AwsService service = entry.getKey().service();
+            if (services.contains(service) && entry.getValue().matcher(reason).find()) {
+                if (byService.putIfAbsent(service, entry.getKey()) != null) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        if (!byService.keySet().equals(services)) {
+            return Optional.empty();
+        }
+        groups.addAll(byService.values());
+        return Optional.of(groups);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
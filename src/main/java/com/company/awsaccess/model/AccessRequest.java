@@ -1,34 +1,97 @@
 package com.company.awsaccess.model;
 
+import com.company.awsaccess.catalog.ActionGroup;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "access_requests")
+@Table(
+        name = "access_requests",
+        indexes = {
+                // bulk expiry: WHERE status = ? AND expires_at < ?
+                @Index(name = "idx_access_requests_status_expires_at", columnList = "status, expires_at"),
+                // dashboard filters, each paired with the id keyset
+                @Index(name = "idx_access_requests_status_id", columnList = "status, id"),
+                @Index(name = "idx_access_requests_account_id", columnList = "aws_account, id"),
+                @Index(name = "idx_access_requests_requester_id", columnList = "requester_email, id"),
+                @Index(name = "idx_access_requests_created_at", columnList = "created_at")
+        }
+)
 public class AccessRequest {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can
+    // batch inserts; IDENTITY forces one round trip per row to read the key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_request_seq")
+    @SequenceGenerator(name = "access_request_seq", sequenceName = "access_requests_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "requester_email")
     private String requesterEmail;
+
+    @Column(name = "aws_account")
     private String awsAccount;
+
     private String reason;
 
+    // Comma-joined copies kept for display and the dashboard projection;
+    // the element collections below are the normalized, indexed form
     @Column(length = 1000)
     private String services;
 
     @Column(length = 1000)
     private String resourceArns;
 
+    @ElementCollection
+    @CollectionTable(
+            name = "access_request_services",
+            joinColumns = @JoinColumn(name = "request_id"),
+            indexes = @Index(name = "idx_access_request_services_service", columnList = "service, request_id")
+    )
+    @Column(name = "service", length = 64, nullable = false)
+    private Set<String> serviceNames = new LinkedHashSet<>();
+
+    @ElementCollection
+    @CollectionTable(
+            name = "access_request_resource_arns",
+            joinColumns = @JoinColumn(name = "request_id"),
+            indexes = @Index(name = "idx_access_request_resource_arns_root", columnList = "arn_root, request_id")
+    )
+    private List<ResourceArn> resourceArnEntries = new ArrayList<>();
+
+    // As returned by the LLM; drives the IAM actions in the policy
+    @ElementCollection
+    @CollectionTable(name = "access_request_action_groups", joinColumns = @JoinColumn(name = "request_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_group", length = 32, nullable = false)
+    private Set<ActionGroup> actionGroups = new LinkedHashSet<>();
+
     private Integer durationHours;
 
     @Enumerated(EnumType.STRING)
     private AccessRequestStatus status;
 
+    @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "expires_at")
     private LocalDateTime expiresAt;
 
+    // Partial interpretation and open questions (JSON) while the request is
+    // AWAITING_FOLLOWUP, so an answer survives a restart or cache eviction
+    @JsonIgnore
+    @Lob
+    @Column(name = "followup_state")
+    private String followupState;
+
     public Long getId() { return id; }
 
     public String getRequesterEmail() { return requesterEmail; }
@@ -41,10 +104,42 @@ public class AccessRequest {
     public void setReason(String reason) { this.reason = reason; }
 
     public String getServices() { return services; }
-    public void setServices(String services) { this.services = services; }
 
     public String getResourceArns() { return resourceArns; }
-    public void setResourceArns(String resourceArns) { this.resourceArns = resourceArns; }
+
+    @JsonIgnore
+    public List<String> getServiceList() {
+        if (serviceNames.isEmpty()) {
+            return splitLegacy(services);
+        }
+        return List.copyOf(serviceNames);
+    }
+
+    public void setServiceList(List<String> services) {
+        List<String> distinct = distinct(services);
+        this.serviceNames = new LinkedHashSet<>(distinct);
+        this.services = String.join(",", distinct);
+    }
+
+    @JsonIgnore
+    public List<String> getResourceArnList() {
+        if (resourceArnEntries.isEmpty()) {
+            return splitLegacy(resourceArns);
+        }
+        return resourceArnEntries.stream().map(ResourceArn::getArn).toList();
+    }
+
+    public void setResourceArnList(List<String> arns) {
+        List<String> distinct = distinct(arns);
+        this.resourceArnEntries = new ArrayList<>();
+        for (String arn : distinct) {
+            this.resourceArnEntries.add(new ResourceArn(arn));
+        }
+        this.resourceArns = String.join(",", distinct);
+    }
+
+    public Set<ActionGroup> getActionGroups() { return actionGroups; }
+    public void setActionGroups(Collection<ActionGroup> groups) { this.actionGroups = new LinkedHashSet<>(groups); }
 
     public Integer getDurationHours() { return durationHours; }
     public void setDurationHours(Integer durationHours) { this.durationHours = durationHours; }
@@ -57,7 +152,32 @@ public class AccessRequest {
     public LocalDateTime getExpiresAt() { return expiresAt; }
     public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
 
+    public String getFollowupState() { return followupState; }
+    public void setFollowupState(String followupState) { this.followupState = followupState; }
+
     public boolean isExpired() {
         return expiresAt != null && expiresAt.isBefore(LocalDateTime.now());
     }
+
+    private static List<String> distinct(List<String> values) {
+        return values.stream()
+                .filter(v -> v != null && !v.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+
+    // Rows written before normalization only have the joined strings
+    private static List<String> splitLegacy(String joined) {
+        if (joined == null || joined.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(joined.replace("[", "")
+                        .replace("]", "")
+                        .replace("\"", "")
+                        .split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
 }
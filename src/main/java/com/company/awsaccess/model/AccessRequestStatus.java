@@ -1,6 +1,10 @@
 package com.company.awsaccess.model;
 
 public enum AccessRequestStatus {
+    INTERPRETING,
+    INTERPRETATION_FAILED,
+    // interpreted, but the LLM needs an answer from the requester first
+    AWAITING_FOLLOWUP,
     CREATED,
     MANAGER_APPROVED,
     MANAGER_REJECTED,
@@ -0,0 +1,48 @@
+package com.company.awsaccess.model;
+
+import com.company.awsaccess.audit.AuditEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Append-only; rows are inserted in JDBC batches by AuditLog, never through JPA
+@Entity
+@Table(
+        name = "audit_events",
+        indexes = @Index(name = "idx_audit_events_request_id", columnList = "request_id, id")
+)
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 32, nullable = false)
+    private AuditEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 32)
+    private AccessRequestStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 32)
+    private AccessRequestStatus toStatus;
+
+    @Column(length = 1000)
+    private String detail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public Long getId() { return id; }
+    public Long getRequestId() { return requestId; }
+    public AuditEventType getEventType() { return eventType; }
+    public AccessRequestStatus getFromStatus() { return fromStatus; }
+    public AccessRequestStatus getToStatus() { return toStatus; }
+    public String getDetail() { return detail; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
@@ -0,0 +1,75 @@
+package com.company.awsaccess.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One policy document and its CLI command, rendered once when a request
+ * reaches DEVOPS_APPROVED; the hashes double as ETags. A request whose
+ * policy exceeds the managed-policy size limit has several parts.
+ */
+@Entity
+@Table(name = "grant_artifacts")
+@IdClass(GrantArtifactId.class)
+public class GrantArtifact {
+
+    // Same id as the access request
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    // 1-based
+    @Id
+    private Integer part;
+
+    @Column(nullable = false)
+    private Integer parts;
+
+    @Lob
+    @Column(name = "policy_json", nullable = false)
+    private String policyJson;
+
+    @Column(name = "policy_sha256", length = 64, nullable = false)
+    private String policySha256;
+
+    @Column(name = "cli_command", length = 2000, nullable = false)
+    private String cliCommand;
+
+    @Column(name = "cli_sha256", length = 64, nullable = false)
+    private String cliSha256;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    protected GrantArtifact() {
+    }
+
+    public GrantArtifact(
+            Long requestId,
+            int part,
+            int parts,
+            String policyJson,
+            String policySha256,
+            String cliCommand,
+            String cliSha256
+    ) {
+        this.requestId = requestId;
+        this.part = part;
+        this.parts = parts;
+        this.policyJson = policyJson;
+        this.policySha256 = policySha256;
+        this.cliCommand = cliCommand;
+        this.cliSha256 = cliSha256;
+        this.generatedAt = LocalDateTime.now();
+    }
+
+    public Long getRequestId() { return requestId; }
+    public Integer getPart() { return part; }
+    public Integer getParts() { return parts; }
+    public String getPolicyJson() { return policyJson; }
+    public String getPolicySha256() { return policySha256; }
+    public String getCliCommand() { return cliCommand; }
+    public String getCliSha256() { return cliSha256; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+}
@@ -0,0 +1,34 @@
+package com.company.awsaccess.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class GrantArtifactId implements Serializable {
+
+    private Long requestId;
+    private Integer part;
+
+    protected GrantArtifactId() {
+    }
+
+    public GrantArtifactId(Long requestId, Integer part) {
+        this.requestId = requestId;
+        this.part = part;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GrantArtifactId other)) {
+            return false;
+        }
+        return Objects.equals(requestId, other.requestId) && Objects.equals(part, other.part);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(requestId, part);
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.awsaccess.model;
+
+import com.company.awsaccess.arn.Arns;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * One requested resource ARN, stored with its indexed root so that
+ * "who can access X" is an index lookup rather than a LIKE scan.
+ */
+@Embeddable
+public class ResourceArn {
+
+    @Column(name = "arn", length = 1000, nullable = false)
+    private String arn;
+
+    @Column(name = "arn_root", length = Arns.ROOT_MAX_LENGTH, nullable = false)
+    private String arnRoot;
+
+    protected ResourceArn() {
+    }
+
+    public ResourceArn(String arn) {
+        this.arn = arn;
+        this.arnRoot = Arns.root(arn);
+    }
+
+    public String getArn() {
+        return arn;
+    }
+
+    public String getArnRoot() {
+        return arnRoot;
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.awsaccess.model;
+
+/**
+ * The manual transitions from the README's status rules. Expiry
+ * (DEVOPS_APPROVED → EXPIRED) is automatic and owned by the expiry engine.
+ */
+public enum StatusTransition {
+
+    MANAGER_APPROVE(AccessRequestStatus.CREATED, AccessRequestStatus.MANAGER_APPROVED),
+    MANAGER_REJECT(AccessRequestStatus.CREATED, AccessRequestStatus.MANAGER_REJECTED),
+    DEVOPS_APPROVE(AccessRequestStatus.MANAGER_APPROVED, AccessRequestStatus.DEVOPS_APPROVED),
+    DEVOPS_REJECT(AccessRequestStatus.MANAGER_APPROVED, AccessRequestStatus.DEVOPS_REJECTED);
+
+    private final AccessRequestStatus from;
+    private final AccessRequestStatus to;
+
+    StatusTransition(AccessRequestStatus from, AccessRequestStatus to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public AccessRequestStatus from() {
+        return from;
+    }
+
+    public AccessRequestStatus to() {
+        return to;
+    }
+}
@@ -1,12 +1,210 @@
 package com.company.awsaccess.repository;
 
+import com.company.awsaccess.dto.response.AccessRequestResponseDto;
 import com.company.awsaccess.model.AccessRequest;
 import com.company.awsaccess.model.AccessRequestStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AccessRequestRepository extends JpaRepository<AccessRequest, Long> {
 
+    // Approval guard: only a fully interpreted request (services, resource
+    // ARNs and a duration) can be approved
+    String COMPLETE = " AND duration_hours > 0"
+            + " AND EXISTS (SELECT 1 FROM access_request_services s WHERE s.request_id = access_requests.id)"
+            + " AND EXISTS (SELECT 1 FROM access_request_resource_arns r WHERE r.request_id = access_requests.id)";
+
     List<AccessRequest> findByStatus(AccessRequestStatus status);
+
+    // Every open request, for the covering-grant index reload
+    List<AccessRequest> findByStatusIn(Collection<AccessRequestStatus> statuses);
+
+    // Every active grant, for the evaluation index reload
+    List<AccessRequest> findByStatusAndExpiresAtAfter(AccessRequestStatus status, LocalDateTime now);
+
+    // One chunk of the reconciliation sweep: due grants, oldest first.
+    // Served by idx_access_requests_status_expires_at.
+    // Locks the chunk it returns until the caller's transaction ends, so an
+    // UPDATE of these ids in that transaction moves every one of them
+    @Query(value = "SELECT id AS id, requester_email AS requesterEmail, aws_account AS awsAccount, "
+            + "expires_at AS expiresAt FROM access_requests "
+            + "WHERE status = 'DEVOPS_APPROVED' AND expires_at < :now "
+            + "ORDER BY expires_at LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<ExpiryDeadline> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Expires the selected chunk in one statement; the status guard leaves
+    // alone any row that changed since an unlocked select
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'EXPIRED' "
+            + "WHERE id IN (:ids) AND status = 'DEVOPS_APPROVED' AND expires_at < :now",
+            nativeQuery = true)
+    int expireByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select a.id as id, a.requesterEmail as requesterEmail, a.awsAccount as awsAccount, "
+            + "a.expiresAt as expiresAt from AccessRequest a "
+            + "where a.status = :status and a.expiresAt <= :until")
+    List<ExpiryDeadline> findDeadlines(
+            @Param("status") AccessRequestStatus status,
+            @Param("until") LocalDateTime until
+    );
+
+    // Expires a single grant if it is still approved and due
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'EXPIRED' "
+            + "WHERE id = :id AND status = 'DEVOPS_APPROVED' AND expires_at <= :now",
+            nativeQuery = true)
+    int expireIfDue(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Compare-and-set transition: applies only if the row is still in :from
+    @Modifying
+    @Transactional
+    @Query("update AccessRequest a set a.status = :to where a.id = :id and a.status = :from")
+    int transition(
+            @Param("id") Long id,
+            @Param("from") AccessRequestStatus from,
+            @Param("to") AccessRequestStatus to
+    );
+
+    // Next follow-up round: only while the request still awaits its answer
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET followup_state = :state "
+            + "WHERE id = :id AND status = 'AWAITING_FOLLOWUP'",
+            nativeQuery = true)
+    int updateFollowupState(@Param("id") Long id, @Param("state") String state);
+
+    // Oldest first, for the sweep of requests stuck in a transient status
+    List<AccessRequest> findByStatusAndCreatedAtBeforeOrderByCreatedAt(
+            AccessRequestStatus status,
+            LocalDateTime cutoff,
+            Limit limit
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'MANAGER_APPROVED' "
+            + "WHERE id = :id AND status = 'CREATED'" + COMPLETE,
+            nativeQuery = true)
+    int approveByManager(@Param("id") Long id);
+
+    // DevOps approval starts the grant clock in the same statement
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'DEVOPS_APPROVED', "
+            + "expires_at = TIMESTAMPADD(HOUR, duration_hours, :now) "
+            + "WHERE id = :id AND status = 'MANAGER_APPROVED'" + COMPLETE,
+            nativeQuery = true)
+    int approveByDevOps(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("select a.id as id, a.status as status, a.requesterEmail as requesterEmail, "
+            + "a.awsAccount as awsAccount, a.durationHours as durationHours, "
+            + "size(a.serviceNames) as serviceCount, size(a.resourceArnEntries) as resourceArnCount, "
+            + "a.expiresAt as expiresAt from AccessRequest a where a.id in :ids")
+    List<TransitionCandidate> findTransitionCandidates(@Param("ids") Collection<Long> ids);
+
+    // Bulk forms of the two transitions above; one statement per batch
+    @Modifying
+    @Transactional
+    @Query("update AccessRequest a set a.status = :to where a.id in :ids and a.status = :from")
+    int transitionAll(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") AccessRequestStatus from,
+            @Param("to") AccessRequestStatus to
+    );
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'MANAGER_APPROVED' "
+            + "WHERE id IN (:ids) AND status = 'CREATED'" + COMPLETE,
+            nativeQuery = true)
+    int approveAllByManager(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE access_requests SET status = 'DEVOPS_APPROVED', "
+            + "expires_at = TIMESTAMPADD(HOUR, duration_hours, :now) "
+            + "WHERE id IN (:ids) AND status = 'MANAGER_APPROVED'" + COMPLETE,
+            nativeQuery = true)
+    int approveAllByDevOps(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Dashboard page: keyset on id (newest first), nullable filters, and a
+    // constructor projection so no managed entities are loaded
+    @Query("select new com.company.awsaccess.dto.response.AccessRequestResponseDto("
+            + "a.id, a.requesterEmail, a.awsAccount, a.status, a.createdAt, a.services) "
+            + "from AccessRequest a "
+            + "where (:cursor is null or a.id < :cursor) "
+            + "and (:status is null or a.status = :status) "
+            + "and (:awsAccount is null or a.awsAccount = :awsAccount) "
+            + "and (:requesterEmail is null or a.requesterEmail = :requesterEmail) "
+            + "and (:createdFrom is null or a.createdAt >= :createdFrom) "
+            + "and (:createdTo is null or a.createdAt < :createdTo) "
+            + "order by a.id desc")
+    List<AccessRequestResponseDto> findPage(
+            @Param("cursor") Long cursor,
+            @Param("status") AccessRequestStatus status,
+            @Param("awsAccount") String awsAccount,
+            @Param("requesterEmail") String requesterEmail,
+            @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo,
+            Limit limit
+    );
+
+    // Candidate grants for an ARN lookup; callers apply the exact glob match
+    @Query("select distinct a.id from AccessRequest a join a.resourceArnEntries r "
+            + "where r.arnRoot in :roots and a.status = :status and a.expiresAt > :now")
+    List<Long> findIdsByArnRoots(
+            @Param("roots") Collection<String> roots,
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    // Same for a pattern wildcarded in region or account: every root below a prefix
+    @Query("select distinct a.id from AccessRequest a join a.resourceArnEntries r "
+            + "where r.arnRoot like concat(:prefix, '%') and a.status = :status and a.expiresAt > :now")
+    List<Long> findIdsByArnRootPrefix(
+            @Param("prefix") String prefix,
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("select distinct a.id from AccessRequest a join a.serviceNames s "
+            + "where s = :service and a.status = :status and a.expiresAt > :now")
+    List<Long> findIdsByService(
+            @Param("service") String service,
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    // The rows found above with their ARNs and services in the same statement
+    @Query("select distinct a from AccessRequest a "
+            + "left join fetch a.resourceArnEntries left join fetch a.serviceNames "
+            + "where a.id in :ids order by a.id")
+    List<AccessRequest> findWithResourcesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Entries indexed under a root that still contains a wildcard (region or
+    // account wildcards were once kept in the root)
+    @Query("select distinct a from AccessRequest a join a.resourceArnEntries r "
+            + "where (r.arnRoot like '%*%' or r.arnRoot like '%?%') and a.status in :statuses")
+    List<AccessRequest> findWithWildcardRoots(@Param("statuses") Collection<AccessRequestStatus> statuses);
+
+    // Rows saved before services/ARNs were normalized into child tables
+    @Query("select a from AccessRequest a "
+            + "where a.resourceArns is not null and a.resourceArnEntries is empty "
+            + "and a.status in :statuses")
+    List<AccessRequest> findUnnormalized(@Param("statuses") Collection<AccessRequestStatus> statuses);
+
+    @Query("select a.status as status, a.expiresAt as expiresAt from AccessRequest a where a.id = :id")
+    Optional<StatusView> findStatusById(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.company.awsaccess.repository;
+
+import com.company.awsaccess.model.AuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    List<AuditEntry> findByRequestIdOrderByIdAsc(Long requestId);
+}
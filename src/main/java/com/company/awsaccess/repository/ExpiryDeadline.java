@@ -0,0 +1,15 @@
+package com.company.awsaccess.repository;
+
+import java.time.LocalDateTime;
+
+// Projection: just what the expiry engine needs to schedule a grant
+public interface ExpiryDeadline {
+
+    Long getId();
+
+    String getRequesterEmail();
+
+    String getAwsAccount();
+
+    LocalDateTime getExpiresAt();
+}
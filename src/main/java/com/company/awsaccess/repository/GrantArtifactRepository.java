@@ -0,0 +1,59 @@
+package com.company.awsaccess.repository;
+
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.GrantArtifact;
+import com.company.awsaccess.model.GrantArtifactId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface GrantArtifactRepository extends JpaRepository<GrantArtifact, GrantArtifactId> {
+
+    List<GrantArtifact> findByRequestIdOrderByPart(Long requestId);
+
+    // Re-rendering replaces every part
+    @Modifying
+    @Query("delete from GrantArtifact g where g.requestId = :requestId")
+    int deleteByRequestId(@Param("requestId") Long requestId);
+
+    // Active grants' documents in (id, part) order. MySQL Connector/J
+    // streams rows one at a time only with fetch size Integer.MIN_VALUE;
+    // callers must consume (and close) the stream inside a read-only
+    // transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select g.requestId as requestId, a.requesterEmail as requesterEmail, "
+            + "a.awsAccount as awsAccount, a.expiresAt as expiresAt, g.policyJson as policyJson, "
+            + "g.policySha256 as policySha256, g.cliCommand as cliCommand, "
+            + "g.part as part, g.parts as parts "
+            + "from GrantArtifact g join AccessRequest a on a.id = g.requestId "
+            + "where a.status = :status and a.expiresAt > :now order by g.requestId, g.part")
+    Stream<GrantExportRow> streamActive(
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    // Same rows and order as streamActive, commands only (for the ZIP script)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select g.cliCommand from GrantArtifact g join AccessRequest a on a.id = g.requestId "
+            + "where a.status = :status and a.expiresAt > :now order by g.requestId, g.part")
+    Stream<String> streamActiveCommands(
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+
+    // Approved grants with nothing rendered yet (approved before artifacts existed)
+    @Query("select a.id from AccessRequest a where a.status = :status and a.expiresAt > :now "
+            + "and not exists (select 1 from GrantArtifact g where g.requestId = a.id)")
+    List<Long> findActiveWithoutArtifact(
+            @Param("status") AccessRequestStatus status,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,26 @@
+package com.company.awsaccess.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for the bulk export; not a managed entity, so streaming
+// rows does not grow the persistence context
+public interface GrantExportRow {
+
+    Long getRequestId();
+
+    Integer getPart();
+
+    Integer getParts();
+
+    String getRequesterEmail();
+
+    String getAwsAccount();
+
+    LocalDateTime getExpiresAt();
+
+    String getPolicyJson();
+
+    String getPolicySha256();
+
+    String getCliCommand();
+}
@@ -0,0 +1,13 @@
+package com.company.awsaccess.repository;
+
+import com.company.awsaccess.model.AccessRequestStatus;
+
+import java.time.LocalDateTime;
+
+// Projection for status polling: two columns instead of the whole entity
+public interface StatusView {
+
+    AccessRequestStatus getStatus();
+
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,32 @@
+package com.company.awsaccess.repository;
+
+import com.company.awsaccess.model.AccessRequestStatus;
+
+import java.time.LocalDateTime;
+
+// Projection: what a bulk transition needs to check and announce each row
+public interface TransitionCandidate {
+
+    Long getId();
+
+    AccessRequestStatus getStatus();
+
+    String getRequesterEmail();
+
+    String getAwsAccount();
+
+    Integer getDurationHours();
+
+    Integer getServiceCount();
+
+    Integer getResourceArnCount();
+
+    LocalDateTime getExpiresAt();
+
+    // Same test as AccessRequestRepository.COMPLETE
+    default boolean isComplete() {
+        return getDurationHours() != null && getDurationHours() > 0
+                && getServiceCount() != null && getServiceCount() > 0
+                && getResourceArnCount() != null && getResourceArnCount() > 0;
+    }
+}
@@ -1,7 +1,12 @@
 package com.company.awsaccess.service;
 
 import com.company.awsaccess.dto.request.CreateAccessRequestDto;
+import com.company.awsaccess.dto.response.BatchCreateResultDto;
+import com.company.awsaccess.dto.response.BulkTransitionResultDto;
+import com.company.awsaccess.llm.dto.FollowupQuestion;
 import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.StatusTransition;
 
 import java.util.List;
 
@@ -10,10 +15,24 @@ public interface AccessRequestService {
     // ✅ DTO-BASED CREATE (SOURCE OF TRUTH)
     AccessRequest create(CreateAccessRequestDto dto);
 
+    // Persists in INTERPRETING state and interprets in the background
+    AccessRequest createAsync(CreateAccessRequestDto dto);
+
+    // One result per input, in input order
+    List<BatchCreateResultDto> createBatch(List<CreateAccessRequestDto> dtos);
+
+    // Sends the answer plus the cached partial interpretation to the LLM
+    AccessRequest resolveFollowup(Long id, String answer);
+
+    List<FollowupQuestion> getFollowupQuestions(Long id);
+
     List<AccessRequest> getAll();
 
     AccessRequest getById(Long id);
 
+    // Served from the in-process status cache
+    AccessRequestStatus getStatus(Long id);
+
     AccessRequest approveByManager(Long id);
 
     AccessRequest rejectByManager(Long id);
@@ -21,4 +40,7 @@ public interface AccessRequestService {
     AccessRequest approveByDevOps(Long id);
 
     AccessRequest rejectByDevOps(Long id);
+
+    // One result per distinct id, in request order
+    List<BulkTransitionResultDto> transitionAll(List<Long> ids, StatusTransition transition);
 }
@@ -1,16 +1,34 @@
 package com.company.awsaccess.service;
 import com.company.awsaccess.model.AccessRequestStatus;
 
+import com.company.awsaccess.catalog.ActionGroup;
 import com.company.awsaccess.dto.request.CreateAccessRequestDto;
+import com.company.awsaccess.dto.response.BatchCreateResultDto;
+import com.company.awsaccess.dto.response.BulkTransitionResultDto;
+import com.company.awsaccess.dto.response.CoveringGrantDto;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
 import com.company.awsaccess.llm.client.LlmClient;
+import com.company.awsaccess.llm.client.LlmUnavailableException;
+import com.company.awsaccess.llm.dto.FollowupQuestion;
 import com.company.awsaccess.llm.dto.LlmInterpretRequest;
 import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.dto.LlmPartialData;
+import com.company.awsaccess.llm.dto.LlmResolveFollowupRequest;
 import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.StatusTransition;
 import com.company.awsaccess.repository.AccessRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class AccessRequestServiceImpl implements AccessRequestService {
@@ -21,46 +39,326 @@ public class AccessRequestServiceImpl implements AccessRequestService {
     @Autowired
     private LlmClient llmClient;
 
+    @Autowired
+    private InterpretationPipeline interpretationPipeline;
+
+    @Autowired
+    private FollowupSessionStore followupSessions;
+
+    @Autowired
+    private StatusCache statusCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StatusTransitionEngine transitionEngine;
+
+    @Autowired
+    private CoveringGrantIndex coveringGrantIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${access-request.batch.max-size:200}")
+    private int batchMaxSize;
+
+    @Value("${access-request.batch.llm-parallelism:8}")
+    private int batchLlmParallelism;
+
     // ✅ REQUIRED BY INTERFACE
     @Override
     public AccessRequest create(CreateAccessRequestDto dto) {
 
+        // Already held or pending? Answer with that request, no LLM call
+        LlmInterpretRequest llmReq = toLlmRequest(dto);
+        rejectIfCovered(llmReq);
+
         // DTO → Entity
+        AccessRequest req = toEntity(dto);
+
+        // Call LLM
+        LlmInterpretResponse llmResp = llmClient.interpret(llmReq);
+
+        applyInterpretation(req, llmResp);
+        AccessRequest saved = repository.save(req);
+
+        rememberFollowup(saved, llmResp);
+        eventPublisher.publishEvent(AccessRequestStatusChangedEvent.of(saved, null));
+        return saved;
+    }
+
+    // ✅ ASYNC CREATE: persist first, interpret in the background
+    @Override
+    public AccessRequest createAsync(CreateAccessRequestDto dto) {
+
+        LlmInterpretRequest llmReq = toLlmRequest(dto);
+        rejectIfCovered(llmReq);
+
+        AccessRequest req = toEntity(dto);
+        req.setStatus(AccessRequestStatus.INTERPRETING);
+        AccessRequest saved = repository.save(req);
+
+        // before submit: the completion event must never precede this one
+        eventPublisher.publishEvent(AccessRequestStatusChangedEvent.of(saved, null));
+
+        llmReq.setRequestId("AR-" + saved.getId());
+
+        boolean accepted = interpretationPipeline.submit(
+                llmReq,
+                llmResp -> completeInterpretation(saved.getId(), llmResp),
+                error -> failInterpretation(saved.getId())
+        );
+
+        if (!accepted) {
+            failInterpretation(saved.getId());
+            throw new LlmUnavailableException("Interpretation capacity exhausted, retry later");
+        }
+
+        return saved;
+    }
+
+    // ✅ BATCH CREATE: bounded LLM fan-out, then one batched insert
+    @Override
+    public List<BatchCreateResultDto> createBatch(List<CreateAccessRequestDto> dtos) {
+
+        if (dtos.size() > batchMaxSize) {
+            throw new IllegalStateException("Batch size exceeds limit of " + batchMaxSize);
+        }
+
+        List<AccessRequest> entities = dtos.stream()
+                .map(this::toEntity)
+                .toList();
+
+        // Covered entries skip the LLM and point at the covering request
+        List<CoveringGrantDto> covering = dtos.stream()
+                .map(dto -> coveringGrantIndex.findCovering(toLlmRequest(dto)).orElse(null))
+                .toList();
+
+        // One outcome per input, in input order
+        List<BatchOutcome> outcomes = Flux.range(0, dtos.size())
+                .flatMapSequential(i -> covering.get(i) != null
+                                ? Mono.just(BatchOutcome.failed("covered"))
+                                : llmClient.interpretAsync(toLlmRequest(dtos.get(i)))
+                                .switchIfEmpty(Mono.error(new IllegalStateException("Empty LLM response")))
+                                .doOnNext(llmResp -> applyInterpretation(entities.get(i), llmResp))
+                                .map(BatchOutcome::interpreted)
+                                .onErrorResume(error -> Mono.just(BatchOutcome.failed(describe(error)))),
+                        batchLlmParallelism)
+                .collectList()
+                .block();
+
+        List<AccessRequest> interpreted = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            if (outcomes.get(i).error == null) {
+                interpreted.add(entities.get(i));
+            }
+        }
+
+        // saveAll runs in a single transaction; ids come from the pooled
+        // sequence so Hibernate can flush the inserts as JDBC batches
+        repository.saveAll(interpreted);
+
+        List<BatchCreateResultDto> results = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            AccessRequest req = entities.get(i);
+            BatchOutcome outcome = outcomes.get(i);
+            if (covering.get(i) != null) {
+                results.add(BatchCreateResultDto.covered(i, covering.get(i)));
+            } else if (outcome.error != null) {
+                results.add(BatchCreateResultDto.failed(i, outcome.error));
+            } else {
+                rememberFollowup(req, outcome.response);
+                eventPublisher.publishEvent(AccessRequestStatusChangedEvent.of(req, null));
+                results.add(BatchCreateResultDto.created(i, req.getId(), req.getStatus().name()));
+            }
+        }
+        return results;
+    }
+
+    private void rejectIfCovered(LlmInterpretRequest llmReq) {
+        coveringGrantIndex.findCovering(llmReq).ifPresent(covering -> {
+            throw new CoveredRequestException(covering);
+        });
+    }
+
+    private static String describe(Throwable error) {
+        return Objects.toString(error.getMessage(), error.getClass().getSimpleName());
+    }
+
+    private static final class BatchOutcome {
+        private final LlmInterpretResponse response;
+        private final String error;
+
+        private BatchOutcome(LlmInterpretResponse response, String error) {
+            this.response = response;
+            this.error = error;
+        }
+
+        static BatchOutcome interpreted(LlmInterpretResponse response) {
+            return new BatchOutcome(response, null);
+        }
+
+        static BatchOutcome failed(String error) {
+            return new BatchOutcome(null, error);
+        }
+    }
+
+    // ✅ FOLLOW-UP: send only the answer and the stored partial interpretation
+    @Override
+    public AccessRequest resolveFollowup(Long id, String answer) {
+
+        if (answer == null || answer.isBlank()) {
+            throw new IllegalStateException("Follow-up answer is required");
+        }
+
+        AccessRequest req = getById(id);
+        if (req.getStatus() != AccessRequestStatus.AWAITING_FOLLOWUP) {
+            throw new IllegalStateException("Request " + id + " is no longer awaiting follow-up");
+        }
+
+        // no stored state (rows from before it was persisted): the LLM
+        // resolves the answer against the reason alone
+        FollowupSession session = followupSessions.get(req)
+                .orElseGet(() -> new FollowupSession(id, req.getReason(), new LlmPartialData(), List.of()));
+
+        LlmResolveFollowupRequest llmReq = new LlmResolveFollowupRequest();
+        llmReq.setRequestId("AR-" + id);
+        llmReq.setReason(session.getReason());
+        llmReq.setPreviousSuggestion(session.getPartialData());
+        llmReq.setFollowupAnswer(answer);
+
+        LlmInterpretResponse llmResp = llmClient.resolveFollowup(llmReq);
+
+        if (Boolean.TRUE.equals(llmResp.getNeedFollowup())) {
+            LlmPartialData partial = llmResp.getPartialData() != null
+                    ? llmResp.getPartialData()
+                    : session.getPartialData();
+            String state = followupSessions.toState(partial, llmResp.getFollowupQuestions());
+            if (repository.updateFollowupState(id, state) == 0) {
+                throw new StatusConflictException(id, AccessRequestStatus.AWAITING_FOLLOWUP,
+                        repository.findStatusById(id).orElseThrow().getStatus());
+            }
+            req.setFollowupState(state);
+            followupSessions.put(new FollowupSession(
+                    id, session.getReason(), partial, llmResp.getFollowupQuestions()));
+            return req;
+        }
+
+        // The guarded UPDATE holds the row until the answer is written in the
+        // same transaction: nothing else can move it meanwhile, and a request
+        // no longer awaiting follow-up is left as it is
+        AccessRequest saved = transactionTemplate.execute(tx -> {
+            if (repository.transition(id, AccessRequestStatus.AWAITING_FOLLOWUP, AccessRequestStatus.CREATED) == 0) {
+                throw new StatusConflictException(id, AccessRequestStatus.AWAITING_FOLLOWUP,
+                        repository.findStatusById(id).orElseThrow().getStatus());
+            }
+            AccessRequest current = getById(id);
+            applyInterpretation(current, llmResp);
+            return repository.save(current);
+        });
+
+        followupSessions.remove(id);
+        eventPublisher.publishEvent(AccessRequestStatusChangedEvent.of(saved, AccessRequestStatus.AWAITING_FOLLOWUP));
+        return saved;
+    }
+
+    @Override
+    public List<FollowupQuestion> getFollowupQuestions(Long id) {
+        return followupSessions.get(id)
+                .or(() -> repository.findById(id).flatMap(followupSessions::get))
+                .map(FollowupSession::getQuestions)
+                .orElse(List.of());
+    }
+
+    // Caches the session applyInterpretation persisted, once the row has an id
+    private void rememberFollowup(AccessRequest req, LlmInterpretResponse llmResp) {
+        if (Boolean.TRUE.equals(llmResp.getNeedFollowup())) {
+            followupSessions.put(new FollowupSession(
+                    req.getId(), req.getReason(), partialOf(llmResp), llmResp.getFollowupQuestions()));
+        }
+    }
+
+    private static LlmPartialData partialOf(LlmInterpretResponse llmResp) {
+        return llmResp.getPartialData() != null ? llmResp.getPartialData() : new LlmPartialData();
+    }
+
+    private void completeInterpretation(Long id, LlmInterpretResponse llmResp) {
+        repository.findById(id)
+                .filter(req -> req.getStatus() == AccessRequestStatus.INTERPRETING)
+                .ifPresent(req -> {
+                    applyInterpretation(req, llmResp);
+                    repository.save(req);
+                    rememberFollowup(req, llmResp);
+                    eventPublisher.publishEvent(
+                            AccessRequestStatusChangedEvent.of(req, AccessRequestStatus.INTERPRETING));
+                });
+    }
+
+    private void failInterpretation(Long id) {
+        repository.findById(id)
+                .filter(req -> req.getStatus() == AccessRequestStatus.INTERPRETING)
+                .ifPresent(req -> {
+                    req.setStatus(AccessRequestStatus.INTERPRETATION_FAILED);
+                    repository.save(req);
+                    eventPublisher.publishEvent(
+                            AccessRequestStatusChangedEvent.of(req, AccessRequestStatus.INTERPRETING));
+                });
+    }
+
+    private AccessRequest toEntity(CreateAccessRequestDto dto) {
         AccessRequest req = new AccessRequest();
         req.setRequesterEmail(dto.getRequesterEmail());
         req.setAwsAccount(dto.getAwsAccount());
         req.setReason(dto.getReason());
+        return req;
+    }
 
-        // LLM request
+    // Pass through whatever the requester already specified; complete
+    // requests can then be resolved without the remote LLM
+    private LlmInterpretRequest toLlmRequest(CreateAccessRequestDto dto) {
         LlmInterpretRequest llmReq = new LlmInterpretRequest();
-        llmReq.setRequesterEmail(req.getRequesterEmail());
-        llmReq.setAwsAccount(req.getAwsAccount());
-        llmReq.setReason(req.getReason());
+        llmReq.setRequesterEmail(dto.getRequesterEmail());
+        llmReq.setAwsAccount(dto.getAwsAccount());
+        llmReq.setReason(dto.getReason());
+        llmReq.setServices(dto.getServices());
+        llmReq.setResourceArns(dto.getResourceArns());
+        llmReq.setDurationHours(dto.getDurationHours());
+        return llmReq;
+    }
 
-        // Call LLM
-        LlmInterpretResponse llmResp = llmClient.interpret(llmReq);
+    private void applyInterpretation(AccessRequest req, LlmInterpretResponse llmResp) {
 
+        // nothing to approve until the requester has answered; what the LLM
+        // has so far is kept on the row for that answer
         if (Boolean.TRUE.equals(llmResp.getNeedFollowup())) {
-            req.setStatus(AccessRequestStatus.CREATED);
-            return repository.save(req);
+            req.setStatus(AccessRequestStatus.AWAITING_FOLLOWUP);
+            req.setFollowupState(followupSessions.toState(partialOf(llmResp), llmResp.getFollowupQuestions()));
+            return;
         }
 
+        req.setStatus(AccessRequestStatus.CREATED);
+        req.setFollowupState(null);
+
         if (llmResp.getServices() != null) {
-            req.setServices(String.join(",", llmResp.getServices()));
+            req.setServiceList(llmResp.getServices());
         }
 
         if (llmResp.getResourceArns() != null) {
-            req.setResourceArns(String.join(",", llmResp.getResourceArns()));
+            req.setResourceArnList(llmResp.getResourceArns());
         }
 
-        req.setDurationHours(llmResp.getDurationHours());
-        req.setStatus(AccessRequestStatus.CREATED);
+        // names outside the contract's allowed groups are dropped, never guessed
+        if (llmResp.getActionGroups() != null) {
+            req.setActionGroups(llmResp.getActionGroups().stream()
+                    .map(ActionGroup::fromName)
+                    .flatMap(Optional::stream)
+                    .toList());
+        }
 
-        return repository.save(req);
+        req.setDurationHours(llmResp.getDurationHours());
     }
 
-    // ---- STUB METHODS (required by interface) ----
-
     @Override
     public List<AccessRequest> getAll() {
         return repository.findAll();
@@ -71,23 +369,43 @@ public class AccessRequestServiceImpl implements AccessRequestService {
         return repository.findById(id).orElseThrow();
     }
 
+    @Override
+    public AccessRequestStatus getStatus(Long id) {
+        return statusCache.getStatus(id);
+    }
+
+    // ✅ APPROVALS: compare-and-set transitions, 409 on a lost race
     @Override
     public AccessRequest approveByManager(Long id) {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return transitionEngine.apply(id, StatusTransition.MANAGER_APPROVE);
     }
 
     @Override
     public AccessRequest rejectByManager(Long id) {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return transitionEngine.apply(id, StatusTransition.MANAGER_REJECT);
     }
 
     @Override
     public AccessRequest approveByDevOps(Long id) {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return transitionEngine.apply(id, StatusTransition.DEVOPS_APPROVE);
     }
 
     @Override
     public AccessRequest rejectByDevOps(Long id) {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return transitionEngine.apply(id, StatusTransition.DEVOPS_REJECT);
+    }
+
+    // ✅ BULK APPROVALS: one read and one guarded UPDATE per batch
+    @Override
+    public List<BulkTransitionResultDto> transitionAll(List<Long> ids, StatusTransition transition) {
+
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalStateException("At least one id is required");
+        }
+        if (ids.size() > batchMaxSize) {
+            throw new IllegalStateException("Batch size exceeds limit of " + batchMaxSize);
+        }
+
+        return transitionEngine.applyAll(ids, transition);
     }
 }
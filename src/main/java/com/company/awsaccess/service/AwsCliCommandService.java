@@ -4,10 +4,14 @@ import com.company.awsaccess.model.AccessRequest;
 import com.company.awsaccess.model.AccessRequestStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class AwsCliCommandService {
 
-    public String generateCreatePolicyCommand(AccessRequest request) {
+    // One create-policy command per policy document, in document order
+    public List<String> generateCreatePolicyCommands(AccessRequest request, int documents) {
 
         if (request.getStatus() != AccessRequestStatus.DEVOPS_APPROVED) {
             throw new IllegalStateException("AWS CLI command available only after DevOps approval");
@@ -17,8 +21,21 @@ public class AwsCliCommandService {
             throw new IllegalStateException("Access request has expired");
         }
 
-        return "aws iam create-policy "
-                + "--policy-name access-" + request.getId() + " "
-                + "--policy-document file://policy-" + request.getId() + ".json";
+        List<String> commands = new ArrayList<>(documents);
+        for (int part = 1; part <= documents; part++) {
+            commands.add("aws iam create-policy "
+                    + "--policy-name " + policyName(request.getId(), part, documents) + " "
+                    + "--policy-document file://" + policyFileName(request.getId(), part, documents));
+        }
+        return commands;
+    }
+
+    // Single-document requests keep the original names
+    public static String policyName(Long requestId, int part, int parts) {
+        return parts == 1 ? "access-" + requestId : "access-" + requestId + "-" + part;
+    }
+
+    public static String policyFileName(Long requestId, int part, int parts) {
+        return parts == 1 ? "policy-" + requestId + ".json" : "policy-" + requestId + "-" + part + ".json";
     }
 }
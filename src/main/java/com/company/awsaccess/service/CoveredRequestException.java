@@ -0,0 +1,19 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.dto.response.CoveringGrantDto;
+
+// A new request asks for nothing an open request does not already cover
+public class CoveredRequestException extends RuntimeException {
+
+    private final CoveringGrantDto covering;
+
+    public CoveredRequestException(CoveringGrantDto covering) {
+        super("Already covered by access request " + covering.getRequestId()
+                + " (" + covering.getStatus() + ")");
+        this.covering = covering;
+    }
+
+    public CoveringGrantDto getCovering() {
+        return covering;
+    }
+}
@@ -0,0 +1,312 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.arn.ArnMatcher;
+import com.company.awsaccess.catalog.ActionGroup;
+import com.company.awsaccess.catalog.AwsService;
+import com.company.awsaccess.dto.response.CoveringGrantDto;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.company.awsaccess.llm.local.LocalRuleInterpreter;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Finds an open request that already covers a new one, before the new one
+ * costs an LLM call, a row and a manager's review.
+ *
+ * Only requests the local rules can interpret are checked: for those the
+ * action groups, ARNs and duration are known without the LLM. A request is
+ * covered when a pending or active request of the same requester and
+ * account grants, service by service, every one of its groups on every one
+ * of its ARNs (groups of one service never vouch for another's ARNs, as in
+ * the policy), and lasts at least as long (remaining time for an active
+ * grant).
+ *
+ * Entries follow the status events: created requests are indexed, approvals
+ * update them, and rejection, failure or expiry removes them. A periodic
+ * reload picks up transitions made on other instances.
+ */
+@Component
+public class CoveringGrantIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CoveringGrantIndex.class);
+
+    private static final Set<AccessRequestStatus> OPEN = EnumSet.of(
+            AccessRequestStatus.CREATED,
+            AccessRequestStatus.MANAGER_APPROVED,
+            AccessRequestStatus.DEVOPS_APPROVED);
+
+    private final AccessRequestRepository repository;
+    private final IamPolicyService policyService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LocalRuleInterpreter interpreter = new LocalRuleInterpreter();
+
+    private final ConcurrentMap<Long, IndexedRequest> byId = new ConcurrentHashMap<>();
+    // requester (lower-cased) + account -> requests; lists are replaced, never mutated
+    private final ConcurrentMap<String, List<IndexedRequest>> byPrincipal = new ConcurrentHashMap<>();
+
+    private final Counter shortCircuits;
+
+    public CoveringGrantIndex(
+            AccessRequestRepository repository,
+            IamPolicyService policyService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.policyService = policyService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("access-request.covering-index.size", byId, ConcurrentMap::size)
+                .register(meterRegistry);
+        this.shortCircuits = Counter.builder("access-request.covering-index.short-circuits")
+                .register(meterRegistry);
+    }
+
+    public Optional<CoveringGrantDto> findCovering(LlmInterpretRequest request) {
+
+        String key = key(request.getRequesterEmail(), request.getAwsAccount());
+        List<IndexedRequest> candidates = key == null ? null : byPrincipal.get(key);
+        if (candidates == null) {
+            return Optional.empty();
+        }
+
+        Optional<LlmInterpretResponse> resolved = interpreter.interpret(request);
+        if (resolved.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LlmInterpretResponse wanted = resolved.get();
+        Map<AwsService, Set<ActionGroup>> groups = new EnumMap<>(AwsService.class);
+        wanted.getActionGroups().forEach(name -> ActionGroup.fromName(name).ifPresent(group ->
+                groups.computeIfAbsent(group.service(), s -> EnumSet.noneOf(ActionGroup.class)).add(group)));
+        if (groups.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<AwsService, List<String>> arns = new EnumMap<>(AwsService.class);
+        groups.keySet().forEach(service ->
+                arns.put(service, IamPolicyService.resourcesOf(service, wanted.getResourceArns())));
+        LocalDateTime until = LocalDateTime.now().plusHours(wanted.getDurationHours());
+
+        for (IndexedRequest candidate : candidates) {
+            if (candidate.covers(groups, arns, wanted.getDurationHours(), until)) {
+                shortCircuits.increment();
+                return Optional.of(new CoveringGrantDto(
+                        candidate.requestId, candidate.status.name(), candidate.expiresAt));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+
+        if (!OPEN.contains(event.getStatus())) {
+            remove(event.getRequestId());
+            return;
+        }
+
+        // approvals only move an indexed request along
+        IndexedRequest indexed = byId.get(event.getRequestId());
+        if (indexed != null) {
+            add(indexed.withStatus(event.getStatus(), event.getExpiresAt()));
+            return;
+        }
+
+        try {
+            readOnlyTransaction.executeWithoutResult(tx ->
+                    repository.findById(event.getRequestId()).ifPresent(req -> add(index(req))));
+        } catch (RuntimeException e) {
+            // only costs a missed short-circuit until the next reload
+            log.warn("Indexing access request {} for duplicate checks failed", event.getRequestId(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Re-reads every open request. Entries indexed by an event while the
+     * reload ran are kept even if the read missed them.
+     */
+    @Scheduled(
+            fixedDelayString = "${access-request.covering-index.reload-ms:300000}",
+            initialDelayString = "${access-request.covering-index.reload-ms:300000}")
+    public void reload() {
+
+        long started = System.nanoTime();
+        Set<Long> open = new HashSet<>();
+
+        readOnlyTransaction.executeWithoutResult(tx ->
+                repository.findByStatusIn(OPEN).forEach(req -> {
+                    open.add(req.getId());
+                    add(index(req));
+                }));
+
+        for (IndexedRequest indexed : byId.values()) {
+            if (!open.contains(indexed.requestId) && indexed.indexedAt - started < 0) {
+                remove(indexed.requestId);
+            }
+        }
+    }
+
+    private IndexedRequest index(AccessRequest req) {
+
+        // what the policy actually grants: each service's groups on its own ARNs
+        Map<AwsService, ServiceGrant> grants = new EnumMap<>(AwsService.class);
+        List<String> requested = req.getResourceArnList();
+        policyService.groupsByService(req).forEach((service, serviceGroups) -> {
+            List<String> resources = IamPolicyService.resourcesOf(service, requested);
+            if (!resources.isEmpty()) {
+                grants.put(service, new ServiceGrant(serviceGroups, new ArnMatcher(resources)));
+            }
+        });
+
+        return new IndexedRequest(
+                req.getId(),
+                key(req.getRequesterEmail(), req.getAwsAccount()),
+                req.getStatus(),
+                grants,
+                req.getDurationHours(),
+                req.getExpiresAt(),
+                System.nanoTime());
+    }
+
+    private void add(IndexedRequest indexed) {
+        if (indexed.key == null || !OPEN.contains(indexed.status) || indexed.grants.isEmpty()) {
+            remove(indexed.requestId);
+            return;
+        }
+        byId.put(indexed.requestId, indexed);
+        byPrincipal.compute(indexed.key, (key, requests) -> {
+            List<IndexedRequest> next = new ArrayList<>();
+            if (requests != null) {
+                requests.stream().filter(r -> !r.requestId.equals(indexed.requestId)).forEach(next::add);
+            }
+            next.add(indexed);
+            return List.copyOf(next);
+        });
+    }
+
+    private void remove(Long requestId) {
+        IndexedRequest indexed = byId.remove(requestId);
+        if (indexed == null) {
+            return;
+        }
+        byPrincipal.computeIfPresent(indexed.key, (key, requests) -> {
+            List<IndexedRequest> next = requests.stream()
+                    .filter(r -> !r.requestId.equals(requestId))
+                    .toList();
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    private static String key(String requesterEmail, String awsAccount) {
+        if (requesterEmail == null || requesterEmail.isBlank() || awsAccount == null || awsAccount.isBlank()) {
+            return null;
+        }
+        return requesterEmail.trim().toLowerCase(Locale.ROOT) + "|" + awsAccount.trim();
+    }
+
+    private static final class IndexedRequest {
+
+        private final Long requestId;
+        private final String key;
+        private final AccessRequestStatus status;
+        private final Map<AwsService, ServiceGrant> grants;
+        private final Integer durationHours;
+        private final LocalDateTime expiresAt;
+        private final long indexedAt;
+
+        private IndexedRequest(
+                Long requestId,
+                String key,
+                AccessRequestStatus status,
+                Map<AwsService, ServiceGrant> grants,
+                Integer durationHours,
+                LocalDateTime expiresAt,
+                long indexedAt
+        ) {
+            this.requestId = requestId;
+            this.key = key;
+            this.status = status;
+            this.grants = grants;
+            this.durationHours = durationHours;
+            this.expiresAt = expiresAt;
+            this.indexedAt = indexedAt;
+        }
+
+        private IndexedRequest withStatus(AccessRequestStatus status, LocalDateTime expiresAt) {
+            return new IndexedRequest(requestId, key, status, grants,
+                    durationHours, expiresAt, System.nanoTime());
+        }
+
+        private boolean covers(
+                Map<AwsService, Set<ActionGroup>> wantedGroups,
+                Map<AwsService, List<String>> wantedArns,
+                int wantedHours,
+                LocalDateTime wantedUntil
+        ) {
+            if (status == AccessRequestStatus.DEVOPS_APPROVED) {
+                // an active grant must still be running at the end of the new one
+                if (expiresAt == null || expiresAt.isBefore(wantedUntil)) {
+                    return false;
+                }
+            } else if (durationHours == null || durationHours < wantedHours) {
+                return false;
+            }
+            for (Map.Entry<AwsService, Set<ActionGroup>> wanted : wantedGroups.entrySet()) {
+                ServiceGrant grant = grants.get(wanted.getKey());
+                if (grant == null || !grant.groups.containsAll(wanted.getValue())) {
+                    return false;
+                }
+                for (String arn : wantedArns.getOrDefault(wanted.getKey(), List.of())) {
+                    if (!grant.resources.covers(arn)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ServiceGrant {
+
+        private final Set<ActionGroup> groups;
+        private final ArnMatcher resources;
+
+        private ServiceGrant(Set<ActionGroup> groups, ArnMatcher resources) {
+            this.groups = groups;
+            this.resources = resources;
+        }
+    }
+}
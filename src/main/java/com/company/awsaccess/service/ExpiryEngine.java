@@ -0,0 +1,178 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires grants at their deadline instead of at the next sweep.
+ *
+ * Deadlines falling within the horizon are held in a DelayQueue; a single
+ * worker thread wakes when the earliest one is due and expires that row
+ * with a conditional UPDATE. Only the horizon is kept in memory: the
+ * ExpiryScheduler sweep refills it and catches anything missed across
+ * restarts, so the horizon must be longer than the sweep interval.
+ */
+@Component
+public class ExpiryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryEngine.class);
+
+    private final AccessRequestRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration horizon;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    // id -> deadline currently scheduled; older queue entries are stale
+    private final ConcurrentMap<Long, LocalDateTime> scheduled = new ConcurrentHashMap<>();
+
+    private volatile Thread worker;
+
+    public ExpiryEngine(
+            AccessRequestRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${access-request.expiry.horizon-minutes:30}") long horizonMinutes,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+
+        Gauge.builder("access-request.expiry.tracked", scheduled, ConcurrentMap::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadUpcoming();
+        worker = Thread.ofPlatform()
+                .name("expiry-engine")
+                .daemon()
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) a grant's expiry. Deadlines beyond the
+     * horizon are picked up later by loadUpcoming.
+     */
+    public void track(Long id, String requesterEmail, String awsAccount, LocalDateTime expiresAt) {
+        if (id == null || expiresAt == null) {
+            return;
+        }
+        if (expiresAt.isAfter(LocalDateTime.now().plus(horizon))) {
+            return;
+        }
+        LocalDateTime previous = scheduled.put(id, expiresAt);
+        if (!expiresAt.equals(previous)) {
+            queue.add(new Deadline(id, requesterEmail, awsAccount, expiresAt));
+        }
+    }
+
+    public void untrack(Long id) {
+        scheduled.remove(id);
+    }
+
+    // Approval schedules the deadline; any other transition cancels it
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        if (event.getStatus() == AccessRequestStatus.DEVOPS_APPROVED) {
+            track(event.getRequestId(), event.getRequesterEmail(),
+                    event.getAwsAccount(), event.getExpiresAt());
+        } else if (event.getStatus() != AccessRequestStatus.EXPIRED) {
+            untrack(event.getRequestId());
+        }
+    }
+
+    public void loadUpcoming() {
+        repository.findDeadlines(
+                        AccessRequestStatus.DEVOPS_APPROVED,
+                        LocalDateTime.now().plus(horizon))
+                .forEach(d -> track(d.getId(), d.getRequesterEmail(), d.getAwsAccount(), d.getExpiresAt()));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expire(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void expire(Deadline deadline) {
+
+        if (!deadline.expiresAt.equals(scheduled.get(deadline.id))) {
+            return;
+        }
+
+        try {
+            if (repository.expireIfDue(deadline.id, LocalDateTime.now()) == 1) {
+                eventPublisher.publishEvent(new AccessRequestStatusChangedEvent(
+                        deadline.id,
+                        AccessRequestStatus.DEVOPS_APPROVED,
+                        AccessRequestStatus.EXPIRED,
+                        deadline.requesterEmail,
+                        deadline.awsAccount,
+                        deadline.expiresAt));
+            }
+        } catch (RuntimeException e) {
+            // leave it to the reconciliation sweep
+            log.warn("Expiry of access request {} failed, deferring to sweep", deadline.id, e);
+        } finally {
+            scheduled.remove(deadline.id, deadline.expiresAt);
+        }
+    }
+
+    private static final class Deadline implements Delayed {
+
+        private final Long id;
+        private final String requesterEmail;
+        private final String awsAccount;
+        private final LocalDateTime expiresAt;
+
+        private Deadline(Long id, String requesterEmail, String awsAccount, LocalDateTime expiresAt) {
+            this.id = id;
+            this.requesterEmail = requesterEmail;
+            this.awsAccount = awsAccount;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            long millis = Duration.between(LocalDateTime.now(), expiresAt).toMillis();
+            return unit.convert(millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((Deadline) other).expiresAt);
+        }
+    }
+}
@@ -1,33 +1,84 @@
 package com.company.awsaccess.service;
 
-import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
 import com.company.awsaccess.model.AccessRequestStatus;
 import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.ExpiryDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Component
 public class ExpiryScheduler {
 
     private final AccessRequestRepository repository;
+    private final ExpiryEngine expiryEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
 
-    public ExpiryScheduler(AccessRequestRepository repository) {
+    public ExpiryScheduler(
+            AccessRequestRepository repository,
+            ExpiryEngine expiryEngine,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${access-request.expiry.chunk-size:500}") int chunkSize
+    ) {
         this.repository = repository;
+        this.expiryEngine = expiryEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
     }
 
+    // Reconciliation: ExpiryEngine expires grants on time; this catches
+    // anything it missed (restarts, failed updates) and refills its horizon
     @Scheduled(fixedRate = 600000) // every 10 mins
     public void expireRequests() {
+        expireDueRequests();
+        expiryEngine.loadUpcoming();
+    }
+
+    /**
+     * Expires every DEVOPS_APPROVED request past its deadline, chunkSize
+     * rows at a time so row locks stay short. Each chunk is selected FOR
+     * UPDATE and expired with one set-based UPDATE in the same transaction:
+     * a racing ExpiryEngine waits and then finds nothing to do, so every
+     * locked row is ours and gets exactly one status event.
+     *
+     * @return number of requests expired
+     */
+    public int expireDueRequests() {
+
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        List<ExpiryDeadline> expired;
+
+        do {
+            expired = transactionTemplate.execute(tx -> {
+                List<ExpiryDeadline> due = repository.lockDue(now, chunkSize);
+                if (!due.isEmpty()) {
+                    repository.expireByIds(due.stream().map(ExpiryDeadline::getId).toList(), now);
+                }
+                return due;
+            });
 
-        List<AccessRequest> requests =
-                repository.findByStatus(AccessRequestStatus.DEVOPS_APPROVED);
+            // after commit, so listeners never see an expiry that rolled back
+            expired.forEach(d -> eventPublisher.publishEvent(new AccessRequestStatusChangedEvent(
+                    d.getId(),
+                    AccessRequestStatus.DEVOPS_APPROVED,
+                    AccessRequestStatus.EXPIRED,
+                    d.getRequesterEmail(),
+                    d.getAwsAccount(),
+                    d.getExpiresAt())));
+            total += expired.size();
+        } while (expired.size() == chunkSize);
 
-        for (AccessRequest request : requests) {
-            if (request.isExpired()) {
-                request.setStatus(AccessRequestStatus.EXPIRED);
-                repository.save(request);
-            }
-        }
+        return total;
     }
 }
@@ -0,0 +1,46 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.llm.dto.FollowupQuestion;
+import com.company.awsaccess.llm.dto.LlmPartialData;
+
+import java.util.List;
+
+/**
+ * What the LLM has worked out so far for a request that still needs an
+ * answer from the requester. Only this delta is sent on the next turn.
+ */
+public class FollowupSession {
+
+    private final Long requestId;
+    private final String reason;
+    private final LlmPartialData partialData;
+    private final List<FollowupQuestion> questions;
+
+    public FollowupSession(
+            Long requestId,
+            String reason,
+            LlmPartialData partialData,
+            List<FollowupQuestion> questions
+    ) {
+        this.requestId = requestId;
+        this.reason = reason;
+        this.partialData = partialData;
+        this.questions = questions == null ? List.of() : List.copyOf(questions);
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public LlmPartialData getPartialData() {
+        return partialData;
+    }
+
+    public List<FollowupQuestion> getQuestions() {
+        return questions;
+    }
+}
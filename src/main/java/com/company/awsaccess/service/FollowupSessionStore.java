@@ -0,0 +1,114 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.cache.TtlLruCache;
+import com.company.awsaccess.llm.dto.FollowupQuestion;
+import com.company.awsaccess.llm.dto.LlmPartialData;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Open follow-up conversations keyed by access request id.
+ *
+ * The row is the record: the partial interpretation and the questions are
+ * stored on it as JSON (followupState) while it is AWAITING_FOLLOWUP. This
+ * bounded, TTL-evicted cache only saves re-reading and parsing them, so an
+ * evicted session or a restart costs one row read, not the conversation.
+ */
+@Component
+public class FollowupSessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowupSessionStore.class);
+
+    private final TtlLruCache<Long, FollowupSession> sessions;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FollowupSessionStore(
+            @Value("${llm.followup.max-sessions:5000}") int maxSessions,
+            @Value("${llm.followup.ttl-seconds:86400}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.sessions = new TtlLruCache<>(maxSessions, Duration.ofSeconds(ttlSeconds));
+        Gauge.builder("llm.followup.sessions", sessions, TtlLruCache::size)
+                .register(meterRegistry);
+    }
+
+    public void put(FollowupSession session) {
+        sessions.put(session.getRequestId(), session);
+    }
+
+    public Optional<FollowupSession> get(Long requestId) {
+        return Optional.ofNullable(sessions.get(requestId));
+    }
+
+    // Cached session, else the one persisted on a request still awaiting its answer
+    public Optional<FollowupSession> get(AccessRequest req) {
+        FollowupSession cached = sessions.get(req.getId());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (req.getStatus() != AccessRequestStatus.AWAITING_FOLLOWUP || req.getFollowupState() == null) {
+            return Optional.empty();
+        }
+        try {
+            PersistedState state = objectMapper.readValue(req.getFollowupState(), PersistedState.class);
+            FollowupSession session = new FollowupSession(
+                    req.getId(), req.getReason(), state.getPartialData(), state.getQuestions());
+            sessions.put(req.getId(), session);
+            return Optional.of(session);
+        } catch (JsonProcessingException e) {
+            // treated as no session: the answer is resolved from the reason alone
+            log.warn("Unreadable follow-up state on access request {}", req.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    public void remove(Long requestId) {
+        sessions.invalidate(requestId);
+    }
+
+    // The JSON kept in AccessRequest.followupState
+    public String toState(LlmPartialData partialData, List<FollowupQuestion> questions) {
+        PersistedState state = new PersistedState();
+        state.setPartialData(partialData);
+        state.setQuestions(questions == null ? List.of() : questions);
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize follow-up state", e);
+        }
+    }
+
+    static final class PersistedState {
+
+        private LlmPartialData partialData;
+        private List<FollowupQuestion> questions;
+
+        public LlmPartialData getPartialData() {
+            return partialData;
+        }
+
+        public void setPartialData(LlmPartialData partialData) {
+            this.partialData = partialData;
+        }
+
+        public List<FollowupQuestion> getQuestions() {
+            return questions;
+        }
+
+        public void setQuestions(List<FollowupQuestion> questions) {
+            this.questions = questions;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.audit.AuditEventType;
+import com.company.awsaccess.audit.AuditLog;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.GrantArtifact;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.GrantArtifactRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the policy documents and CLI commands once, at DevOps approval,
+ * and serves the stored copies afterwards. The render runs on the blocking
+ * scheduler, off the approving thread, so a bulk approval stays one
+ * statement plus its events and a read that comes first renders instead.
+ *
+ * Reads still go through the approval and expiry checks every time (via
+ * the status cache), so a stored artifact is never served for a request
+ * that has expired. Requests approved before artifacts existed are
+ * rendered on first read. Two renders of the same request may race (first
+ * reads, or a read and the approval event); the loser's insert fails on
+ * the (request_id, part) key and it serves the winner's rows instead.
+ */
+@Service
+public class GrantArtifactService {
+
+    private static final Logger log = LoggerFactory.getLogger(GrantArtifactService.class);
+
+    private final AccessRequestRepository requestRepository;
+    private final GrantArtifactRepository artifactRepository;
+    private final IamPolicyExportService policyExportService;
+    private final AwsCliCommandService cliCommandService;
+    private final StatusCache statusCache;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler blockingScheduler;
+
+    public GrantArtifactService(
+            AccessRequestRepository requestRepository,
+            GrantArtifactRepository artifactRepository,
+            IamPolicyExportService policyExportService,
+            AwsCliCommandService cliCommandService,
+            StatusCache statusCache,
+            AuditLog auditLog,
+            TransactionTemplate transactionTemplate,
+            Scheduler blockingScheduler
+    ) {
+        this.requestRepository = requestRepository;
+        this.artifactRepository = artifactRepository;
+        this.policyExportService = policyExportService;
+        this.cliCommandService = cliCommandService;
+        this.statusCache = statusCache;
+        this.auditLog = auditLog;
+        this.transactionTemplate = transactionTemplate;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        if (event.getStatus() != AccessRequestStatus.DEVOPS_APPROVED) {
+            return;
+        }
+        // the approval is already committed; if this fails the first read renders it
+        Long id = event.getRequestId();
+        blockingScheduler.schedule(() -> renderQuietly(id));
+    }
+
+    // Renders every active grant that has no artifact yet; normally none
+    public void renderMissing() {
+        artifactRepository.findActiveWithoutArtifact(AccessRequestStatus.DEVOPS_APPROVED, LocalDateTime.now())
+                .forEach(this::renderQuietly);
+    }
+
+    // A failure here cannot fail the caller
+    private void renderQuietly(Long id) {
+        try {
+            render(id);
+        } catch (RuntimeException e) {
+            log.warn("Rendering artifacts for access request {} failed", id, e);
+        }
+    }
+
+    // part is 1-based; most requests have a single document
+    public GrantArtifact getPolicy(Long id, int part) {
+
+        List<GrantArtifact> artifacts = getArtifacts(id);
+        if (part < 1 || part > artifacts.size()) {
+            throw new IllegalStateException(
+                    "Request " + id + " has " + artifacts.size() + " policy document(s)");
+        }
+        return artifacts.get(part - 1);
+    }
+
+    // Only for a policy actually sent, not a 304 revalidation
+    public void recordPolicyExported(GrantArtifact artifact) {
+        auditLog.record(artifact.getRequestId(), AuditEventType.POLICY_EXPORTED,
+                null, AccessRequestStatus.DEVOPS_APPROVED, "sha256=" + artifact.getPolicySha256());
+    }
+
+    // Every part, in order; one create-policy command each
+    public List<GrantArtifact> getCliCommands(Long id) {
+        return getArtifacts(id);
+    }
+
+    // ETag of the newline-joined commands; stored as-is for one part
+    public static String cliScriptSha256(List<GrantArtifact> artifacts) {
+        if (artifacts.size() == 1) {
+            return artifacts.get(0).getCliSha256();
+        }
+        return sha256(cliScript(artifacts));
+    }
+
+    public static String cliScript(List<GrantArtifact> artifacts) {
+        return artifacts.stream()
+                .map(GrantArtifact::getCliCommand)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private List<GrantArtifact> getArtifacts(Long id) {
+
+        AccessRequestStatus status = statusCache.getStatus(id);
+        if (status == AccessRequestStatus.EXPIRED) {
+            throw new IllegalStateException("Access request has expired");
+        }
+        if (status != AccessRequestStatus.DEVOPS_APPROVED) {
+            throw new IllegalStateException("IAM policy and CLI command available only after DevOps approval");
+        }
+
+        List<GrantArtifact> artifacts = artifactRepository.findByRequestIdOrderByPart(id);
+        if (artifacts.isEmpty()) {
+            artifacts = render(id);
+        }
+        return artifacts;
+    }
+
+    // Own transaction, flushed inside it so a lost race surfaces here
+    private List<GrantArtifact> render(Long id) {
+        try {
+            return transactionTemplate.execute(tx ->
+                    materialize(requestRepository.findById(id).orElseThrow()));
+        } catch (DataIntegrityViolationException e) {
+            List<GrantArtifact> rendered = artifactRepository.findByRequestIdOrderByPart(id);
+            if (rendered.isEmpty()) {
+                throw e;
+            }
+            return rendered;
+        }
+    }
+
+    private List<GrantArtifact> materialize(AccessRequest request) {
+
+        List<String> documents = policyExportService.generatePolicyDocuments(request);
+        List<String> commands = cliCommandService.generateCreatePolicyCommands(request, documents.size());
+
+        artifactRepository.deleteByRequestId(request.getId());
+
+        List<GrantArtifact> artifacts = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            artifacts.add(new GrantArtifact(
+                    request.getId(),
+                    i + 1,
+                    documents.size(),
+                    documents.get(i),
+                    sha256(documents.get(i)),
+                    commands.get(i),
+                    sha256(commands.get(i))));
+        }
+        return artifactRepository.saveAllAndFlush(artifacts);
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.arn.ArnMatcher;
+import com.company.awsaccess.catalog.IamActionCatalog;
+import com.company.awsaccess.dto.request.EvaluationQueryDto;
+import com.company.awsaccess.dto.response.EvaluationResultDto;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * "Is X allowed action A on resource R right now?" answered from memory.
+ *
+ * Every active grant is compiled once into the statements its policy
+ * contains: a lower-cased action set plus an ArnMatcher per service, built
+ * with the same grouping IamPolicyService uses. Grants are indexed by
+ * requester, so a query only looks at that person's few grants.
+ *
+ * Approvals add a grant and expiries remove it as their events arrive.
+ * expiresAt is also checked on every query, so a grant stops allowing at
+ * its deadline even before the EXPIRED event. The index is per instance:
+ * a periodic reload picks up approvals made elsewhere.
+ */
+@Component
+public class GrantEvaluationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GrantEvaluationIndex.class);
+
+    private final AccessRequestRepository repository;
+    private final IamPolicyService policyService;
+    private final IamActionCatalog catalog;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentMap<Long, CompiledGrant> byId = new ConcurrentHashMap<>();
+    // requester (lower-cased) -> grants; lists are replaced, never mutated
+    private final ConcurrentMap<String, List<CompiledGrant>> byRequester = new ConcurrentHashMap<>();
+
+    public GrantEvaluationIndex(
+            AccessRequestRepository repository,
+            IamPolicyService policyService,
+            IamActionCatalog catalog,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.policyService = policyService;
+        this.catalog = catalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("access-request.evaluation.grants", byId, ConcurrentMap::size)
+                .register(meterRegistry);
+    }
+
+    public EvaluationResultDto evaluate(EvaluationQueryDto query) {
+
+        String requester = normalize(query.getRequesterEmail());
+        String action = query.getAction() == null ? null : query.getAction().trim();
+        String resource = query.getResource() == null ? null : query.getResource().trim();
+        if (requester == null || action == null || action.isEmpty() || resource == null || resource.isEmpty()) {
+            throw new IllegalStateException("requesterEmail, action and resource are required");
+        }
+
+        String awsAccount = query.getAwsAccount() == null || query.getAwsAccount().isBlank()
+                ? null
+                : query.getAwsAccount().trim();
+        String actionKey = action.toLowerCase(Locale.ROOT);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (CompiledGrant grant : byRequester.getOrDefault(requester, List.of())) {
+            if ((awsAccount == null || awsAccount.equals(grant.awsAccount))
+                    && grant.expiresAt.isAfter(now)
+                    && grant.allows(actionKey, resource)) {
+                return new EvaluationResultDto(query.getRequesterEmail(), grant.awsAccount,
+                        action, resource, true, grant.requestId, grant.expiresAt);
+            }
+        }
+        return new EvaluationResultDto(query.getRequesterEmail(), awsAccount,
+                action, resource, false, null, null);
+    }
+
+    public List<EvaluationResultDto> evaluateAll(List<EvaluationQueryDto> queries) {
+        return queries.stream().map(this::evaluate).toList();
+    }
+
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        if (event.getStatus() == AccessRequestStatus.DEVOPS_APPROVED) {
+            try {
+                readOnlyTransaction.executeWithoutResult(tx ->
+                        repository.findById(event.getRequestId()).ifPresent(req -> add(compile(req))));
+            } catch (RuntimeException e) {
+                // the approval stands; the next reload indexes it
+                log.warn("Indexing access request {} failed", event.getRequestId(), e);
+            }
+        } else {
+            remove(event.getRequestId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Re-reads every active grant. Entries indexed by an event while the
+     * reload ran are kept even if the read missed them.
+     */
+    @Scheduled(
+            fixedDelayString = "${access-request.evaluation.reload-ms:300000}",
+            initialDelayString = "${access-request.evaluation.reload-ms:300000}")
+    public void reload() {
+
+        long started = System.nanoTime();
+        Set<Long> active = new HashSet<>();
+
+        readOnlyTransaction.executeWithoutResult(tx ->
+                repository.findByStatusAndExpiresAtAfter(AccessRequestStatus.DEVOPS_APPROVED, LocalDateTime.now())
+                        .forEach(req -> {
+                            active.add(req.getId());
+                            add(compile(req));
+                        }));
+
+        for (CompiledGrant grant : byId.values()) {
+            if (!active.contains(grant.requestId) && grant.compiledAt - started < 0) {
+                remove(grant.requestId);
+            }
+        }
+    }
+
+    private CompiledGrant compile(AccessRequest req) {
+
+        List<String> arns = req.getResourceArnList();
+        List<CompiledStatement> statements = new ArrayList<>();
+
+        policyService.groupsByService(req).forEach((service, groups) -> {
+            List<String> resources = IamPolicyService.resourcesOf(service, arns);
+            if (resources.isEmpty()) {
+                return;
+            }
+            Set<String> actions = new HashSet<>();
+            for (String action : catalog.actionsFor(groups)) {
+                actions.add(action.toLowerCase(Locale.ROOT));
+            }
+            statements.add(new CompiledStatement(Set.copyOf(actions), new ArnMatcher(resources)));
+        });
+
+        return new CompiledGrant(
+                req.getId(),
+                normalize(req.getRequesterEmail()),
+                req.getAwsAccount(),
+                req.getExpiresAt(),
+                List.copyOf(statements),
+                System.nanoTime());
+    }
+
+    private void add(CompiledGrant grant) {
+        if (grant.requester == null || grant.expiresAt == null) {
+            return;
+        }
+        CompiledGrant previous = byId.put(grant.requestId, grant);
+        if (previous != null && !previous.requester.equals(grant.requester)) {
+            detach(previous);
+        }
+        byRequester.compute(grant.requester, (requester, grants) -> {
+            List<CompiledGrant> next = new ArrayList<>();
+            if (grants != null) {
+                grants.stream().filter(g -> !g.requestId.equals(grant.requestId)).forEach(next::add);
+            }
+            next.add(grant);
+            return List.copyOf(next);
+        });
+    }
+
+    private void remove(Long requestId) {
+        CompiledGrant grant = byId.remove(requestId);
+        if (grant != null) {
+            detach(grant);
+        }
+    }
+
+    private void detach(CompiledGrant grant) {
+        byRequester.computeIfPresent(grant.requester, (requester, grants) -> {
+            List<CompiledGrant> next = grants.stream()
+                    .filter(g -> !g.requestId.equals(grant.requestId))
+                    .toList();
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    private static String normalize(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CompiledGrant {
+
+        private final Long requestId;
+        private final String requester;
+        private final String awsAccount;
+        private final LocalDateTime expiresAt;
+        private final List<CompiledStatement> statements;
+        private final long compiledAt;
+
+        private CompiledGrant(
+                Long requestId,
+                String requester,
+                String awsAccount,
+                LocalDateTime expiresAt,
+                List<CompiledStatement> statements,
+                long compiledAt
+        ) {
+            this.requestId = requestId;
+            this.requester = requester;
+            this.awsAccount = awsAccount;
+            this.expiresAt = expiresAt;
+            this.statements = statements;
+            this.compiledAt = compiledAt;
+        }
+
+        private boolean allows(String action, String resource) {
+            for (CompiledStatement statement : statements) {
+                if (statement.actions.contains(action) && statement.resources.matches(resource)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class CompiledStatement {
+
+        private final Set<String> actions;
+        private final ArnMatcher resources;
+
+        private CompiledStatement(Set<String> actions, ArnMatcher resources) {
+            this.actions = actions;
+            this.resources = resources;
+        }
+    }
+}
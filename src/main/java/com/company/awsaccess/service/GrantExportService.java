@@ -0,0 +1,150 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.audit.AuditEventType;
+import com.company.awsaccess.audit.AuditLog;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.GrantArtifactRepository;
+import com.company.awsaccess.repository.GrantExportRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams every active grant's stored policy and CLI command to a client.
+ *
+ * Rows come from a server-side cursor over the materialized artifacts and
+ * go straight to the response, so memory stays flat however many grants
+ * exist. Everything is read in one read-only transaction, which on InnoDB
+ * means one consistent snapshot even across the ZIP's two passes.
+ */
+@Service
+public class GrantExportService {
+
+    private final GrantArtifactRepository artifactRepository;
+    private final GrantArtifactService grantArtifactService;
+    private final AuditLog auditLog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new ObjectMapper().getFactory();
+
+    public GrantExportService(
+            GrantArtifactRepository artifactRepository,
+            GrantArtifactService grantArtifactService,
+            AuditLog auditLog,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.artifactRepository = artifactRepository;
+        this.grantArtifactService = grantArtifactService;
+        this.auditLog = auditLog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * One JSON object per policy document: request metadata, part/parts,
+     * the stored document text as a string (policySha256 is the hash of
+     * exactly that text, as served by /{id}/policy) and its create-policy
+     * command.
+     */
+    public void writeNdjson(OutputStream out) {
+
+        grantArtifactService.renderMissing();
+        LocalDateTime now = LocalDateTime.now();
+
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<GrantExportRow> rows = artifactRepository.streamActive(
+                    AccessRequestStatus.DEVOPS_APPROVED, now);
+                 JsonGenerator json = jsonFactory.createGenerator(out)) {
+
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null);
+
+                Iterator<GrantExportRow> it = rows.iterator();
+                while (it.hasNext()) {
+                    GrantExportRow row = it.next();
+
+                    json.writeStartObject();
+                    json.writeNumberField("requestId", row.getRequestId());
+                    json.writeStringField("requesterEmail", row.getRequesterEmail());
+                    json.writeStringField("awsAccount", row.getAwsAccount());
+                    json.writeStringField("expiresAt", row.getExpiresAt().toString());
+                    json.writeNumberField("part", row.getPart());
+                    json.writeNumberField("parts", row.getParts());
+                    json.writeStringField("policySha256", row.getPolicySha256());
+                    json.writeStringField("policyJson", row.getPolicyJson());
+                    json.writeStringField("cliCommand", row.getCliCommand());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+
+                    exported(row);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * policy-&lt;id&gt;.json per grant, policy-&lt;id&gt;-&lt;part&gt;.json when it was
+     * split (the names the CLI commands refer to), then create-policies.sh
+     * with every command in the same order.
+     */
+    public void writeZip(OutputStream out) {
+
+        grantArtifactService.renderMissing();
+        LocalDateTime now = LocalDateTime.now();
+
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try {
+                ZipOutputStream zip = new ZipOutputStream(out);
+
+                try (Stream<GrantExportRow> rows = artifactRepository.streamActive(
+                        AccessRequestStatus.DEVOPS_APPROVED, now)) {
+                    Iterator<GrantExportRow> it = rows.iterator();
+                    while (it.hasNext()) {
+                        GrantExportRow row = it.next();
+                        zip.putNextEntry(new ZipEntry(AwsCliCommandService.policyFileName(
+                                row.getRequestId(), row.getPart(), row.getParts())));
+                        zip.write(row.getPolicyJson().getBytes(StandardCharsets.UTF_8));
+                        zip.closeEntry();
+                        exported(row);
+                    }
+                }
+
+                zip.putNextEntry(new ZipEntry("create-policies.sh"));
+                zip.write("#!/bin/sh\nset -e\n".getBytes(StandardCharsets.UTF_8));
+                try (Stream<String> commands = artifactRepository.streamActiveCommands(
+                        AccessRequestStatus.DEVOPS_APPROVED, now)) {
+                    Iterator<String> it = commands.iterator();
+                    while (it.hasNext()) {
+                        zip.write((it.next() + "\n").getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                zip.closeEntry();
+
+                // writes the central directory; the servlet closes the stream
+                zip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void exported(GrantExportRow row) {
+        auditLog.record(row.getRequestId(), AuditEventType.POLICY_EXPORTED,
+                null, AccessRequestStatus.DEVOPS_APPROVED,
+                "bulk export sha256=" + row.getPolicySha256());
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.arn.Arns;
+import com.company.awsaccess.catalog.AwsService;
+import com.company.awsaccess.dto.response.ActiveGrantDto;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * "Who currently has access to X" over the normalized resource and service
+ * tables. Active means DEVOPS_APPROVED and not yet past expiresAt.
+ */
+@Service
+public class GrantQueryService {
+
+    private final AccessRequestRepository repository;
+
+    public GrantQueryService(AccessRequestRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Grants whose resource ARNs cover the given ARN. A pattern argument
+     * (containing * or ?) returns grants that overlap it in either direction.
+     */
+    @Transactional(readOnly = true)
+    public List<ActiveGrantDto> findActiveByArn(String arn) {
+
+        String query = arn.trim();
+        boolean pattern = Arns.hasWildcard(query);
+        LocalDateTime now = LocalDateTime.now();
+
+        // a pattern wildcarded before the resource part can overlap any root of its service
+        List<Long> ids = pattern && Arns.hasWildcard(query.substring(0, Arns.namespaceLength(query)))
+                ? repository.findIdsByArnRootPrefix(
+                        Arns.servicePrefix(query), AccessRequestStatus.DEVOPS_APPROVED, now)
+                : repository.findIdsByArnRoots(
+                        Arns.candidateRoots(pattern ? Arns.literalPrefix(query) : query),
+                        AccessRequestStatus.DEVOPS_APPROVED, now);
+
+        return findWithResources(ids)
+                .stream()
+                .map(req -> {
+                    List<String> matched = req.getResourceArnList().stream()
+                            .filter(granted -> Arns.globMatches(granted, query)
+                                    || (pattern && Arns.globMatches(query, granted)))
+                            .toList();
+                    return matched.isEmpty() ? null : toDto(req, matched);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActiveGrantDto> findActiveByService(String service) {
+
+        String name = AwsService.fromName(service)
+                .map(AwsService::contractName)
+                .orElseThrow(() -> new IllegalStateException("Unknown service: " + service));
+
+        List<Long> ids = repository.findIdsByService(name, AccessRequestStatus.DEVOPS_APPROVED, LocalDateTime.now());
+
+        return findWithResources(ids)
+                .stream()
+                .map(req -> toDto(req, req.getResourceArnList()))
+                .toList();
+    }
+
+    // ids first, then one fetch join: filtering on the joined rows and
+    // fetching them in one query would load only the matching ARNs
+    private List<AccessRequest> findWithResources(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : repository.findWithResourcesByIdIn(ids);
+    }
+
+    private static ActiveGrantDto toDto(AccessRequest req, List<String> matchedArns) {
+        return new ActiveGrantDto(
+                req.getId(),
+                req.getRequesterEmail(),
+                req.getAwsAccount(),
+                req.getServiceList(),
+                matchedArns,
+                req.getExpiresAt()
+        );
+    }
+}
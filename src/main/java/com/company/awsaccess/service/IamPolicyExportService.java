@@ -1,9 +1,12 @@
 package com.company.awsaccess.service;
 
 import com.company.awsaccess.model.AccessRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,17 +19,19 @@ public class IamPolicyExportService {
         this.iamPolicyService = iamPolicyService;
     }
 
-    public String generatePolicyJson(AccessRequest request) {
+    // One pretty-printed JSON per policy document (usually exactly one)
+    public List<String> generatePolicyDocuments(AccessRequest request) {
 
         try {
-            Map<String, Object> policy =
-                    iamPolicyService.generatePolicy(request);
-
-            return objectMapper
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(policy);
-
-        } catch (Exception e) {
+            List<String> documents = new ArrayList<>();
+            for (Map<String, Object> policy : iamPolicyService.generatePolicies(request)) {
+                documents.add(objectMapper
+                        .writerWithDefaultPrettyPrinter()
+                        .writeValueAsString(policy));
+            }
+            return documents;
+
+        } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to generate policy JSON", e);
         }
     }
@@ -1,15 +1,57 @@
 package com.company.awsaccess.service;
 
+import com.company.awsaccess.arn.ArnTrie;
+import com.company.awsaccess.arn.Arns;
+import com.company.awsaccess.catalog.ActionGroup;
+import com.company.awsaccess.catalog.AwsService;
+import com.company.awsaccess.catalog.IamActionCatalog;
 import com.company.awsaccess.model.AccessRequest;
 import com.company.awsaccess.model.AccessRequestStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
 public class IamPolicyService {
 
-    public Map<String, Object> generatePolicy(AccessRequest request) {
+    // AWS limit for a customer managed policy, whitespace excluded
+    public static final int MANAGED_POLICY_MAX_CHARS = 6144;
+
+    // Requests created before action groups were stored were granted this
+    // fixed S3 set; keep their policies equivalent
+    private static final Set<ActionGroup> LEGACY_GROUPS = EnumSet.of(
+            ActionGroup.READ_OBJECTS, ActionGroup.UPLOAD_OBJECTS, ActionGroup.LIST_BUCKET);
+
+    private final IamActionCatalog catalog;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // null: no request predates action groups
+    private final LocalDateTime legacyGroupsBefore;
+
+    public IamPolicyService(
+            IamActionCatalog catalog,
+            @Value("${access-request.policy.legacy-groups-before:}") String legacyGroupsBefore
+    ) {
+        this.catalog = catalog;
+        this.legacyGroupsBefore = legacyGroupsBefore == null || legacyGroupsBefore.isBlank()
+                ? null
+                : LocalDateTime.parse(legacyGroupsBefore.trim());
+    }
+
+    /**
+     * The request's grant as one or more policy documents, each within
+     * MANAGED_POLICY_MAX_CHARS when minified. ARNs already covered by a
+     * wildcard are dropped first; if the rest still does not fit, resources
+     * are spread over as many documents as needed, always in the same order.
+     *
+     * Refuses (IllegalStateException) rather than emit a narrower grant than
+     * was approved: a request without action groups, or an ARN whose service
+     * has none.
+     */
+    public List<Map<String, Object>> generatePolicies(AccessRequest request) {
 
         if (request.getStatus() != AccessRequestStatus.DEVOPS_APPROVED) {
             throw new IllegalStateException("IAM policy available only after DevOps approval");
@@ -19,34 +61,129 @@ public class IamPolicyService {
             throw new IllegalStateException("Access request has expired");
         }
 
-        Map<String, Object> policy = new HashMap<>();
-        policy.put("Version", "2012-10-17");
+        Map<AwsService, Set<ActionGroup>> groups = groupsByService(request);
+        if (groups.isEmpty()) {
+            throw new IllegalStateException("Access request has no approved action groups");
+        }
+
+        List<String> arns = ArnTrie.compact(request.getResourceArnList());
+
+        List<String> ungranted = new ArrayList<>(arns);
+        groups.keySet().forEach(service -> ungranted.removeAll(resourcesOf(service, arns)));
+        if (!ungranted.isEmpty()) {
+            throw new IllegalStateException("No approved action group covers " + ungranted);
+        }
+
+        // One statement per service: its groups' actions on its own ARNs
+        List<PolicyDocument> documents = new ArrayList<>();
+        PolicyDocument current = new PolicyDocument();
+
+        for (Map.Entry<AwsService, Set<ActionGroup>> entry : groups.entrySet()) {
+
+            String sid = entry.getKey().contractName();
+            List<String> actions = catalog.actionsFor(entry.getValue());
+            int statementSize = jsonLength(statement(sid, actions, List.of()));
+
+            List<String> statementResources = null;
+            for (String arn : resourcesOf(entry.getKey(), arns)) {
+
+                int resourceSize = jsonLength(arn);
+                int cost = statementResources == null
+                        ? (current.statements.isEmpty() ? 0 : 1) + statementSize + resourceSize
+                        : 1 + resourceSize;
+
+                // a document holding nothing yet takes the resource regardless
+                if (current.size + cost > MANAGED_POLICY_MAX_CHARS && !current.statements.isEmpty()) {
+                    documents.add(current);
+                    current = new PolicyDocument();
+                    statementResources = null;
+                    cost = statementSize + resourceSize;
+                }
+
+                if (statementResources == null) {
+                    statementResources = new ArrayList<>();
+                    current.statements.add(statement(sid, actions, statementResources));
+                }
+                statementResources.add(arn);
+                current.size += cost;
+            }
+        }
+
+        if (!current.statements.isEmpty()) {
+            documents.add(current);
+        }
+
+        // IAM rejects a document without statements
+        if (documents.isEmpty()) {
+            throw new IllegalStateException("Access request grants no resources");
+        }
+
+        return documents.stream().map(PolicyDocument::toPolicy).toList();
+    }
 
-        Map<String, Object> statement = new HashMap<>();
+    private static Map<String, Object> statement(String sid, List<String> actions, List<String> resources) {
+        Map<String, Object> statement = new LinkedHashMap<>();
+        statement.put("Sid", sid);
         statement.put("Effect", "Allow");
-        statement.put("Action", mapActions(request.getServices()));
-        statement.put("Resource", parseResources(request.getResourceArns()));
+        statement.put("Action", actions);
+        statement.put("Resource", resources);
+        return statement;
+    }
+
+    private int jsonLength(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value).length();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to size policy", e);
+        }
+    }
 
-        policy.put("Statement", List.of(statement));
-        return policy;
+    // Also compiled by GrantEvaluationIndex, so evaluation matches the
+    // policy; empty for a request without groups that is not legacy
+    Map<AwsService, Set<ActionGroup>> groupsByService(AccessRequest request) {
+
+        Set<ActionGroup> groups = request.getActionGroups().isEmpty() && isLegacyS3(request)
+                ? LEGACY_GROUPS
+                : request.getActionGroups();
+
+        Map<AwsService, Set<ActionGroup>> byService = new EnumMap<>(AwsService.class);
+        for (ActionGroup group : groups) {
+            byService.computeIfAbsent(group.service(), s -> EnumSet.noneOf(ActionGroup.class)).add(group);
+        }
+        return byService;
+    }
+
+    private boolean isLegacyS3(AccessRequest request) {
+        return legacyGroupsBefore != null
+                && request.getCreatedAt() != null
+                && request.getCreatedAt().isBefore(legacyGroupsBefore)
+                && request.getServiceList().contains(AwsService.S3.contractName());
     }
 
-    private List<String> mapActions(String services) {
-        List<String> actions = new ArrayList<>();
-        if (services.contains("S3")) {
-            actions.add("s3:PutObject");
-            actions.add("s3:GetObject");
-            actions.add("s3:ListBucket");
+    static List<String> resourcesOf(AwsService service, List<String> arns) {
+        List<String> resources = new ArrayList<>();
+        for (String arn : arns) {
+            String namespace = Arns.service(arn);
+            if (namespace != null && AwsService.fromArnNamespace(namespace).orElse(null) == service) {
+                resources.add(arn);
+            }
         }
-        return actions;
+        return resources;
     }
 
-    private List<String> parseResources(String resourceArns) {
-        return Arrays.asList(
-                resourceArns.replace("[","")
-                        .replace("]","")
-                        .replace("\"","")
-                        .split(",")
-        );
+    private static final class PolicyDocument {
+
+        // {"Version":"2012-10-17","Statement":[]}
+        private static final int EMPTY_SIZE = 39;
+
+        private final List<Map<String, Object>> statements = new ArrayList<>();
+        private int size = EMPTY_SIZE;
+
+        private Map<String, Object> toPolicy() {
+            Map<String, Object> policy = new LinkedHashMap<>();
+            policy.put("Version", "2012-10-17");
+            policy.put("Statement", statements);
+            return policy;
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.company.awsaccess.service;
+
+// A retry gave up waiting for the first request with the same Idempotency-Key
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,199 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.cache.TtlLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for the create and bulk endpoints.
+ *
+ * The first request with a key runs; its 2xx response is kept for the TTL
+ * under scope + key and replayed to every retry. A retry that arrives while
+ * the first is still running waits for its outcome (response or error)
+ * instead of running again, so a retried create costs no second LLM call
+ * or insert. Errors are not kept: once the first attempt has failed, the
+ * next retry runs for real.
+ *
+ * Reusing a key with a different body is rejected. Stored responses are
+ * per instance, like the other caches here.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final TtlLruCache<String, StoredResponse> completed;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutMs;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Counter replays;
+
+    public IdempotencyStore(
+            @Value("${access-request.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${access-request.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${access-request.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.completed = new TtlLruCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        Gauge.builder("access-request.idempotency.stored", completed, TtlLruCache::size)
+                .register(meterRegistry);
+        Gauge.builder("access-request.idempotency.in-flight", inFlight, ConcurrentMap::size)
+                .register(meterRegistry);
+        this.replays = Counter.builder("access-request.idempotency.replays").register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once per scope + key; without a key it just runs.
+     *
+     * @param scope   who and what the key belongs to, e.g. endpoint and requester
+     * @param payload request body, fingerprinted to detect key reuse
+     */
+    public <T> ResponseEntity<T> execute(
+            String key,
+            String scope,
+            Object payload,
+            Supplier<ResponseEntity<T>> action
+    ) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalStateException("Idempotency-Key longer than " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + "\n" + key.trim();
+        String fingerprint = fingerprint(payload);
+
+        StoredResponse done = completed.get(storeKey);
+        if (done != null) {
+            return replay(done, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storeKey, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+
+        try {
+            // the previous holder may have finished between the get and the put
+            done = completed.get(storeKey);
+            if (done != null) {
+                mine.complete(done);
+                return replay(done, fingerprint);
+            }
+
+            ResponseEntity<T> response = action.get();
+            StoredResponse stored = new StoredResponse(fingerprint, response);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                completed.put(storeKey, stored);
+            }
+            mine.complete(stored);
+            return response;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // after the put above, so a newcomer finds one or the other
+            inFlight.remove(storeKey, mine);
+        }
+    }
+
+    /**
+     * The stored response for a key that already completed, if any, so a
+     * replay can skip everything in front of execute (e.g. rate limits).
+     */
+    public <T> Optional<ResponseEntity<T>> findReplay(String key, String scope, Object payload) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Optional.empty();
+        }
+        StoredResponse done = completed.get(scope + "\n" + key.trim());
+        return done == null ? Optional.empty() : Optional.of(replay(done, fingerprint(payload)));
+    }
+
+    // A key already seen in this scope marks the request as a client retry
+    public boolean isKnown(String key, String scope) {
+        if (key == null || key.isBlank()) {
+            return false;
+        }
+        String storeKey = scope + "\n" + key.trim();
+        return inFlight.containsKey(storeKey) || completed.get(storeKey) != null;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // the first attempt's error is this attempt's error too
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted waiting for the original request");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint.equals(fingerprint)) {
+            throw new IllegalStateException("Idempotency-Key was already used with a different request body");
+        }
+        replays.increment();
+        ResponseEntity<?> original = stored.response;
+        return (ResponseEntity<T>) ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private String fingerprint(Object payload) {
+        try {
+            byte[] json = objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request body", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class StoredResponse {
+
+        private final String fingerprint;
+        private final ResponseEntity<?> response;
+
+        private StoredResponse(String fingerprint, ResponseEntity<?> response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+}
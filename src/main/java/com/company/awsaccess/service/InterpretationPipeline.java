@@ -0,0 +1,74 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.llm.client.LlmClient;
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Runs LLM interpretation off the servlet thread.
+ *
+ * The HTTP call stays on the WebClient event loop; only the result callbacks
+ * (which touch JPA) hop to the blocking scheduler. The number of
+ * interpretations in flight is capped so a burst cannot queue unbounded work.
+ * Each one is given up (onFailure) after timeout-ms, so after that a row
+ * still INTERPRETING has no live pipeline behind it on any instance.
+ */
+@Component
+public class InterpretationPipeline {
+
+    private final LlmClient llmClient;
+    private final Scheduler blockingScheduler;
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public InterpretationPipeline(
+            LlmClient llmClient,
+            Scheduler blockingScheduler,
+            @Value("${llm.pipeline.max-in-flight:64}") int maxInFlight,
+            @Value("${llm.pipeline.timeout-ms:60000}") long timeoutMs
+    ) {
+        this.llmClient = llmClient;
+        this.blockingScheduler = blockingScheduler;
+        this.permits = new Semaphore(maxInFlight);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * Returns false without doing anything when the pipeline is full.
+     */
+    public boolean submit(
+            LlmInterpretRequest request,
+            Consumer<LlmInterpretResponse> onSuccess,
+            Consumer<Throwable> onFailure
+    ) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+
+        Mono.defer(() -> llmClient.interpretAsync(request))
+                .switchIfEmpty(Mono.error(new IllegalStateException("Empty LLM response")))
+                .timeout(timeout)
+                .publishOn(blockingScheduler)
+                .doOnNext(onSuccess)
+                .doFinally(signal -> permits.release())
+                .subscribe(resp -> { }, onFailure);
+
+        return true;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
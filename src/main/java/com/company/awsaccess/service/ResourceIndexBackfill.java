@@ -0,0 +1,48 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+
+/**
+ * Copies the comma-joined services/ARNs of still-open requests written
+ * before normalization into the indexed child tables, so grant lookups do
+ * not miss them. Terminal rows are left alone; they never match a lookup.
+ *
+ * Also re-indexes ARNs stored under a root that still holds a region or
+ * account wildcard, from before such grants were keyed by service.
+ */
+@Component
+public class ResourceIndexBackfill {
+
+    private final AccessRequestRepository repository;
+
+    public ResourceIndexBackfill(AccessRequestRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+
+        EnumSet<AccessRequestStatus> open = EnumSet.of(
+                AccessRequestStatus.CREATED,
+                AccessRequestStatus.MANAGER_APPROVED,
+                AccessRequestStatus.DEVOPS_APPROVED);
+
+        for (AccessRequest req : repository.findUnnormalized(open)) {
+            req.setServiceList(req.getServiceList());
+            req.setResourceArnList(req.getResourceArnList());
+        }
+
+        for (AccessRequest req : repository.findWithWildcardRoots(open)) {
+            req.setResourceArnList(req.getResourceArnList());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves requests stuck in a transient status to INTERPRETATION_FAILED:
+ * a follow-up nobody answered within abandon-after-hours, and an async
+ * create still INTERPRETING at twice the pipeline timeout (its instance
+ * crashed or redeployed mid-call; a live pipeline has given up by then).
+ * Runs at startup and then periodically. The requester can submit again.
+ *
+ * Each row moves with its own compare-and-set, so one answered (or moved
+ * elsewhere) meanwhile is left alone, and only moved rows get an event.
+ */
+@Component
+public class StaleRequestSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleRequestSweeper.class);
+
+    private final AccessRequestRepository repository;
+    private final FollowupSessionStore followupSessions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final long abandonAfterHours;
+    private final Duration interpretingCutoff;
+
+    public StaleRequestSweeper(
+            AccessRequestRepository repository,
+            FollowupSessionStore followupSessions,
+            InterpretationPipeline interpretationPipeline,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${access-request.sweep.chunk-size:500}") int chunkSize,
+            @Value("${access-request.followup.abandon-after-hours:72}") long abandonAfterHours
+    ) {
+        this.repository = repository;
+        this.followupSessions = followupSessions;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.abandonAfterHours = abandonAfterHours;
+        this.interpretingCutoff = interpretationPipeline.getTimeout().multipliedBy(2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${access-request.sweep.interval-ms:600000}",
+            initialDelayString = "${access-request.sweep.interval-ms:600000}")
+    public void sweep() {
+        int orphaned = failStale(AccessRequestStatus.INTERPRETING,
+                LocalDateTime.now().minus(interpretingCutoff));
+        if (orphaned > 0) {
+            log.warn("Failed {} access requests left INTERPRETING by a lost pipeline", orphaned);
+        }
+        int abandoned = failStale(AccessRequestStatus.AWAITING_FOLLOWUP,
+                LocalDateTime.now().minusHours(abandonAfterHours));
+        if (abandoned > 0) {
+            log.info("Failed {} access requests whose follow-up was never answered", abandoned);
+        }
+    }
+
+    /**
+     * Fails every request in the given status created before the cutoff.
+     *
+     * @return number of requests moved
+     */
+    int failStale(AccessRequestStatus status, LocalDateTime cutoff) {
+
+        int total = 0;
+        List<AccessRequest> stale;
+
+        do {
+            stale = repository.findByStatusAndCreatedAtBeforeOrderByCreatedAt(status, cutoff, Limit.of(chunkSize));
+            for (AccessRequest req : stale) {
+                if (repository.transition(req.getId(), status, AccessRequestStatus.INTERPRETATION_FAILED) == 0) {
+                    continue;
+                }
+                followupSessions.remove(req.getId());
+                eventPublisher.publishEvent(new AccessRequestStatusChangedEvent(
+                        req.getId(),
+                        status,
+                        AccessRequestStatus.INTERPRETATION_FAILED,
+                        req.getRequesterEmail(),
+                        req.getAwsAccount(),
+                        null));
+                total++;
+            }
+        } while (stale.size() == chunkSize);
+
+        return total;
+    }
+}
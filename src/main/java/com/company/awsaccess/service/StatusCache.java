@@ -0,0 +1,99 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.cache.TtlLruCache;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.StatusView;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Read-through cache behind GET /{id}/status.
+ *
+ * Every status transition publishes an AccessRequestStatusChangedEvent and
+ * the entry is overwritten with the new status. Entries also carry
+ * expiresAt, so a grant reads as EXPIRED the moment its deadline passes,
+ * even before the expiry engine or the sweep has written it.
+ *
+ * The cache is per instance; the TTL bounds how stale an entry can get
+ * when another instance performs the transition.
+ */
+@Component
+public class StatusCache {
+
+    private final AccessRequestRepository repository;
+    private final TtlLruCache<Long, StatusSnapshot> cache;
+
+    public StatusCache(
+            AccessRequestRepository repository,
+            @Value("${access-request.status-cache.max-entries:50000}") int maxEntries,
+            @Value("${access-request.status-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.cache = new TtlLruCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+
+        FunctionCounter.builder("access-request.status-cache.hits", cache, TtlLruCache::hitCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("access-request.status-cache.misses", cache, TtlLruCache::missCount)
+                .register(meterRegistry);
+        Gauge.builder("access-request.status-cache.hit-ratio", cache, StatusCache::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("access-request.status-cache.size", cache, TtlLruCache::size)
+                .register(meterRegistry);
+    }
+
+    public AccessRequestStatus getStatus(Long id) {
+
+        StatusSnapshot snapshot = cache.get(id);
+
+        if (snapshot == null) {
+            StatusView view = repository.findStatusById(id).orElseThrow();
+            snapshot = new StatusSnapshot(view.getStatus(), view.getExpiresAt());
+            // never clobber a transition that landed while we were loading
+            cache.putIfAbsent(id, snapshot);
+        }
+
+        return snapshot.effectiveStatus();
+    }
+
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        cache.put(event.getRequestId(),
+                new StatusSnapshot(event.getStatus(), event.getExpiresAt()));
+    }
+
+    private static double hitRatio(TtlLruCache<?, ?> cache) {
+        long hits = cache.hitCount();
+        long total = hits + cache.missCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private static final class StatusSnapshot {
+
+        private final AccessRequestStatus status;
+        private final LocalDateTime expiresAt;
+
+        private StatusSnapshot(AccessRequestStatus status, LocalDateTime expiresAt) {
+            this.status = status;
+            this.expiresAt = expiresAt;
+        }
+
+        private AccessRequestStatus effectiveStatus() {
+            if (status == AccessRequestStatus.DEVOPS_APPROVED
+                    && expiresAt != null
+                    && expiresAt.isBefore(LocalDateTime.now())) {
+                return AccessRequestStatus.EXPIRED;
+            }
+            return status;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.model.AccessRequestStatus;
+
+// A transition found the request in a different status (usually a lost race)
+public class StatusConflictException extends RuntimeException {
+
+    private final Long requestId;
+    private final AccessRequestStatus expected;
+    private final AccessRequestStatus actual;
+
+    public StatusConflictException(Long requestId, AccessRequestStatus expected, AccessRequestStatus actual) {
+        super("Request " + requestId + " is " + actual + ", expected " + expected);
+        this.requestId = requestId;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public AccessRequestStatus getExpected() {
+        return expected;
+    }
+
+    public AccessRequestStatus getActual() {
+        return actual;
+    }
+}
@@ -0,0 +1,178 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes status transitions to dashboard tabs over server-sent events.
+ *
+ * Publishers never wait on a client: each subscriber has a bounded buffer
+ * and its own drain task on the blocking scheduler. When a slow client's
+ * buffer overflows, the buffered events are dropped and the client gets a
+ * single "resync" event telling it to reload the list, after which
+ * streaming resumes with newer events.
+ */
+@Component
+public class StatusEventStream {
+
+    static final String STATUS_EVENT = "status";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Scheduler blockingScheduler;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter resyncs;
+
+    public StatusEventStream(
+            Scheduler blockingScheduler,
+            @Value("${access-request.stream.buffer-size:256}") int bufferSize,
+            @Value("${access-request.stream.timeout-minutes:30}") long timeoutMinutes,
+            MeterRegistry meterRegistry
+    ) {
+        this.blockingScheduler = blockingScheduler;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = Duration.ofMinutes(timeoutMinutes).toMillis();
+
+        Gauge.builder("access-request.stream.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("access-request.stream.resyncs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream; null filters match everything. Clients reconnect
+     * when the timeout closes it and should reload the list on reconnect.
+     */
+    public SseEmitter subscribe(String requesterEmail, String awsAccount) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, requesterEmail, awsAccount);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onStatusChanged(AccessRequestStatusChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and detects dead clients
+    @Scheduled(fixedRateString = "${access-request.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String requesterEmail;
+        private final String awsAccount;
+
+        private final BlockingQueue<AccessRequestStatusChangedEvent> buffer;
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        // drain requests outstanding; only the caller that moves it off 0 schedules
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String requesterEmail, String awsAccount) {
+            this.emitter = emitter;
+            this.requesterEmail = requesterEmail;
+            this.awsAccount = awsAccount;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean matches(AccessRequestStatusChangedEvent event) {
+            return (requesterEmail == null || requesterEmail.equalsIgnoreCase(event.getRequesterEmail()))
+                    && (awsAccount == null || awsAccount.equals(event.getAwsAccount()));
+        }
+
+        private void offer(AccessRequestStatusChangedEvent event) {
+            if (!buffer.offer(event)) {
+                // the client is behind; what it missed is replaced by a reload
+                buffer.clear();
+                if (overflowed.compareAndSet(false, true)) {
+                    resyncs.increment();
+                }
+                buffer.offer(event);
+            }
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            heartbeatDue.set(true);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && pending.getAndIncrement() == 0) {
+                blockingScheduler.schedule(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    if (overflowed.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                    }
+                    AccessRequestStatusChangedEvent event;
+                    while (!closed && (event = buffer.poll()) != null) {
+                        emitter.send(SseEmitter.event()
+                                .name(STATUS_EVENT)
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                    if (heartbeatDue.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // client went away or the emitter already completed;
+                    // the container completes the response itself
+                    close();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.dto.response.BulkTransitionResultDto;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.StatusTransition;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.StatusView;
+import com.company.awsaccess.repository.TransitionCandidate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Applies approval transitions as a single conditional UPDATE
+ * (WHERE id = ? AND status = from), so concurrent approvers cannot both
+ * win and no row lock is held across a read-modify-write.
+ *
+ * Approvals also require a complete request (services, resource ARNs and a
+ * duration) in the same WHERE clause. When the UPDATE matches nothing the
+ * current status is read once to tell a lost race (StatusConflictException,
+ * 409) from an incomplete request.
+ *
+ * Bulk transitions read the whole batch once, then move every eligible row
+ * with one guarded UPDATE; the cost is two statements however many ids.
+ * If another writer got to some rows first, the count cannot say which, so
+ * that UPDATE is rolled back and each row gets its own guarded UPDATE: only
+ * rows this call moved are reported as applied and announced.
+ */
+@Component
+public class StatusTransitionEngine {
+
+    private final AccessRequestRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public StatusTransitionEngine(
+            AccessRequestRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public AccessRequest apply(Long id, StatusTransition transition) {
+
+        if (update(id, transition, LocalDateTime.now()) == 0) {
+            throw rejection(id, transition);
+        }
+
+        AccessRequest req = repository.findById(id).orElseThrow();
+        eventPublisher.publishEvent(new AccessRequestStatusChangedEvent(
+                id,
+                transition.from(),
+                transition.to(),
+                req.getRequesterEmail(),
+                req.getAwsAccount(),
+                req.getExpiresAt()));
+        return req;
+    }
+
+    public List<BulkTransitionResultDto> applyAll(List<Long> ids, StatusTransition transition) {
+
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TransitionCandidate> rows = new HashMap<>();
+        repository.findTransitionCandidates(requested).forEach(c -> rows.put(c.getId(), c));
+
+        List<Long> eligible = requested.stream()
+                .filter(id -> rows.containsKey(id) && isEligible(rows.get(id), transition))
+                .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, LocalDateTime> applied = new HashMap<>();
+
+        if (!eligible.isEmpty()) {
+            List<Long> moved = updateAll(eligible, transition, now);
+            moved.forEach(id -> applied.put(id, expiresAt(rows.get(id), transition, now)));
+
+            // someone else moved the rest: report what they are now
+            List<Long> lost = eligible.stream().filter(id -> !applied.containsKey(id)).toList();
+            if (!lost.isEmpty()) {
+                repository.findTransitionCandidates(lost).forEach(c -> rows.put(c.getId(), c));
+            }
+        }
+
+        List<BulkTransitionResultDto> results = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            TransitionCandidate row = rows.get(id);
+            if (row == null) {
+                results.add(BulkTransitionResultDto.rejected(id, null, "Request not found"));
+            } else if (applied.containsKey(id)) {
+                eventPublisher.publishEvent(new AccessRequestStatusChangedEvent(
+                        id,
+                        transition.from(),
+                        transition.to(),
+                        row.getRequesterEmail(),
+                        row.getAwsAccount(),
+                        applied.get(id)));
+                results.add(BulkTransitionResultDto.applied(id, transition.to().name()));
+            } else if (row.getStatus() != transition.from()) {
+                results.add(BulkTransitionResultDto.rejected(id, row.getStatus().name(),
+                        "Request is " + row.getStatus() + ", expected " + transition.from()));
+            } else {
+                results.add(BulkTransitionResultDto.rejected(id, row.getStatus().name(),
+                        "Request is incomplete: services, resource ARNs and a duration are required"));
+            }
+        }
+        return results;
+    }
+
+    private int update(Long id, StatusTransition transition, LocalDateTime now) {
+        return switch (transition) {
+            case MANAGER_APPROVE -> repository.approveByManager(id);
+            case DEVOPS_APPROVE -> repository.approveByDevOps(id, now);
+            default -> repository.transition(id, transition.from(), transition.to());
+        };
+    }
+
+    // The ids this call moved
+    private List<Long> updateAll(List<Long> ids, StatusTransition transition, LocalDateTime now) {
+
+        Boolean all = transactionTemplate.execute(tx -> {
+            int updated = switch (transition) {
+                case MANAGER_APPROVE -> repository.approveAllByManager(ids);
+                case DEVOPS_APPROVE -> repository.approveAllByDevOps(ids, now);
+                default -> repository.transitionAll(ids, transition.from(), transition.to());
+            };
+            if (updated == ids.size()) {
+                return true;
+            }
+            tx.setRollbackOnly();
+            return false;
+        });
+
+        if (Boolean.TRUE.equals(all)) {
+            return ids;
+        }
+        return ids.stream().filter(id -> update(id, transition, now) == 1).toList();
+    }
+
+    private static boolean isEligible(TransitionCandidate row, StatusTransition transition) {
+        if (row.getStatus() != transition.from()) {
+            return false;
+        }
+        return !isApproval(transition) || row.isComplete();
+    }
+
+    private static boolean isApproval(StatusTransition transition) {
+        return transition == StatusTransition.MANAGER_APPROVE
+                || transition == StatusTransition.DEVOPS_APPROVE;
+    }
+
+    // Same value the UPDATE computed with TIMESTAMPADD
+    private static LocalDateTime expiresAt(
+            TransitionCandidate row,
+            StatusTransition transition,
+            LocalDateTime now
+    ) {
+        return transition == StatusTransition.DEVOPS_APPROVE
+                ? now.plusHours(row.getDurationHours())
+                : row.getExpiresAt();
+    }
+
+    private RuntimeException rejection(Long id, StatusTransition transition) {
+
+        StatusView current = repository.findStatusById(id).orElseThrow();
+
+        if (current.getStatus() != transition.from()) {
+            return new StatusConflictException(id, transition.from(), current.getStatus());
+        }
+
+        // still in the right status, so the guard that failed is completeness
+        return new IllegalStateException("Request " + id
+                + " is incomplete (services, resource ARNs and a duration are required); it cannot be approved");
+    }
+}
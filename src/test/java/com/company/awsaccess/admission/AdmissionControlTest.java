@@ -0,0 +1,97 @@
+package com.company.awsaccess.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void retryQueuedFirstIsDispatchedBehindALaterFirstAttempt() throws Exception {
+        // global: 10/s, burst 1; requesters are not the limit here
+        AdmissionControl admission = new AdmissionControl(true, 10, 1, 10, 10, 10, 5000, registry);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        // takes the only global token, so the next two have to queue
+        admission.admit("a@example.com", false, 1, () -> true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> retry = pool.submit(() ->
+                    admission.admit("b@example.com", true, 1, () -> order.add("retry")));
+            awaitQueueDepth(1);
+            Future<?> first = pool.submit(() ->
+                    admission.admit("c@example.com", false, 1, () -> order.add("first")));
+            awaitQueueDepth(2);
+
+            admission.start();
+            first.get();
+            retry.get();
+
+            assertThat(order).containsExactly("first", "retry");
+            // the dispatcher counts a waiter out just after granting it
+            awaitQueueDepth(0);
+        } finally {
+            admission.stop();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void waitTimeoutGivesTheRequesterTokenBack() {
+        // requester: a single token that takes minutes to come back; no dispatcher
+        AdmissionControl admission = new AdmissionControl(true, 0.1, 1, 0.01, 1, 10, 50, registry);
+
+        admission.admit("other@example.com", false, 1, () -> true);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // the second attempt is only queued again if the first one's token came back
+            assertThatThrownBy(() -> admission.admit("r@example.com", false, 1, () -> true))
+                    .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                            e -> assertThat(e.getReason()).isEqualTo("wait-timeout"));
+            assertThat(queueDepth()).isZero();
+        }
+    }
+
+    @Test
+    void batchChargesEachRequesterTheirOwnEntries() {
+        // requesters: burst 2, next token minutes away; global is not the limit
+        AdmissionControl admission = new AdmissionControl(true, 100, 100, 0.01, 2, 10, 50, registry);
+
+        admission.admit(Map.of("a@example.com", 2, "b@example.com", 1), false, () -> true);
+
+        assertThatThrownBy(() -> admission.admit("a@example.com", false, 1, () -> true))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("requester-rate"));
+        assertThat(admission.admit("b@example.com", false, 1, () -> true)).isTrue();
+    }
+
+    private double queueDepth() {
+        return registry.get("access-request.admission.queue-depth").gauge().value();
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (queueDepth() != depth) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("queue never reached " + depth);
+            }
+            Thread.sleep(5);
+        }
+        // counted just before it is added to the queue
+        Thread.sleep(20);
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.awsaccess.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    // 2 tokens per second, burst of 3
+    private final TokenBucket bucket = new TokenBucket(2, 3, now::get);
+
+    @Test
+    void allowsTheBurstThenRefillsAtTheRate() {
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(1)).isZero();
+
+        long wait = bucket.tryAcquire(1);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        now.addAndGet(wait);
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void refundAndIdleness() {
+        assertThat(bucket.isIdle()).isTrue();
+        assertThat(bucket.tryAcquire(3)).isZero();
+        assertThat(bucket.isIdle()).isFalse();
+
+        bucket.refund(1);
+        assertThat(bucket.tryAcquire(1)).isZero();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(bucket.isIdle()).isTrue();
+    }
+
+    @Test
+    void oversizedRequestsWaitForAFullBucketAndPayInFull() {
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(50)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(bucket.tryAcquire(50)).isZero();
+        // 50 tokens at 2/s, less the burst of 3, plus the one asked for
+        assertThat(bucket.tryAcquire(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(24_000));
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.awsaccess.arn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArnMatcherTest {
+
+    private final ArnMatcher matcher = new ArnMatcher(List.of(
+            "arn:aws:s3:::reports/2024.csv",
+            "arn:aws:s3:::logs-bucket/app/*",
+            "arn:aws:ec2:us-east-1:123456789012:instance/i-0?b*"));
+
+    @Test
+    void matchesLiteralPrefixAndGlobPatterns() {
+        assertThat(matcher.matches("arn:aws:s3:::reports/2024.csv")).isTrue();
+        assertThat(matcher.matches("arn:aws:s3:::logs-bucket/app/")).isTrue();
+        assertThat(matcher.matches("arn:aws:s3:::logs-bucket/app/2024/01/01.log")).isTrue();
+        assertThat(matcher.matches("arn:aws:ec2:us-east-1:123456789012:instance/i-0ab12")).isTrue();
+    }
+
+    @Test
+    void rejectsNearMisses() {
+        assertThat(matcher.matches("arn:aws:s3:::reports/2024.csv.bak")).isFalse();
+        assertThat(matcher.matches("arn:aws:s3:::logs-bucket/ap")).isFalse();
+        assertThat(matcher.matches("arn:aws:s3:::logs-bucket/other/app/x")).isFalse();
+        assertThat(matcher.matches("arn:aws:ec2:us-east-1:123456789012:instance/i-0acb")).isFalse();
+    }
+
+    @Test
+    void coversPatternsOnlyWhenEveryMatchIsCovered() {
+        assertThat(matcher.covers("arn:aws:s3:::logs-bucket/app/2024/*")).isTrue();
+        assertThat(matcher.covers("arn:aws:s3:::logs-bucket/app/*")).isTrue();
+        assertThat(matcher.covers("arn:aws:ec2:us-east-1:123456789012:instance/i-0?b*")).isTrue();
+        assertThat(matcher.covers("arn:aws:s3:::logs-bucket/*")).isFalse();
+        assertThat(matcher.covers("arn:aws:s3:::reports/*")).isFalse();
+        assertThat(matcher.covers("arn:aws:ec2:us-east-1:123456789012:instance/i-0ab*")).isFalse();
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.awsaccess.arn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArnsTest {
+
+    @Test
+    void lookupProbesTheRootOfAGrantWildcardedInRegionOrAccount() {
+        String grant = Arns.root("arn:aws:ec2:*:123456789012:instance/*");
+
+        assertThat(grant).isEqualTo("arn:aws:ec2:");
+        assertThat(Arns.candidateRoots("arn:aws:ec2:us-east-1:123456789012:instance/i-0abc"))
+                .contains("arn:aws:ec2:us-east-1:123456789012:instance", grant);
+    }
+
+    @Test
+    void literalGrantKeepsItsResourceRoot() {
+        assertThat(Arns.root("arn:aws:s3:::logs-bucket/app/*")).isEqualTo("arn:aws:s3:::logs-bucket");
+        assertThat(Arns.candidateRoots("arn:aws:s3:::logs-bucket/app/x.log"))
+                .startsWith("arn:aws:s3:::logs-bucket", "arn:aws:s3:::logs-bucke")
+                .endsWith("arn:aws:s3:::", "arn:aws:s3:");
+    }
+}
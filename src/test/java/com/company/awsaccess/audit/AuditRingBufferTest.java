@@ -0,0 +1,72 @@
+package com.company.awsaccess.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void rejectsWhenFullAndAcceptsAgainAfterDrain() {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(3);
+        assertThat(ring.capacity()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+
+        assertThat(ring.offer(5)).isTrue();
+        ring.drainTo(drained, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        AuditRingBuffer<Integer> ring = new AuditRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 10_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        Set<Integer> accepted = ConcurrentHashMap.newKeySet();
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (ring.offer(base + i)) {
+                        accepted.add(base + i);
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        Set<Integer> consumed = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (done.getCount() > 0 || ring.size() > 0) {
+            batch.clear();
+            ring.drainTo(batch, 256);
+            for (Integer value : batch) {
+                assertThat(consumed.add(value)).isTrue();
+            }
+        }
+        done.await();
+        batch.clear();
+        ring.drainTo(batch, Integer.MAX_VALUE);
+        consumed.addAll(batch);
+
+        assertThat(consumed).isEqualTo(accepted);
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.awsaccess.benchmark;
+
+import com.company.awsaccess.dto.request.CreateAccessRequestDto;
+import com.company.awsaccess.service.AccessRequestService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives AccessRequestService.create (LLM client chain, insert, status
+ * event) at high concurrency from a Tomcat-sized platform pool and from
+ * virtual threads. Run with ./gradlew benchmark against the MySQL from
+ * application.properties.
+ *
+ * The LLM is a local stub with fixed latency; every request has its own
+ * reason so neither the interpretation cache nor the local rules answer it.
+ * The virtual-threads profile supplies the bounded Hikari pool both runs
+ * share.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("virtual-threads")
+class CreateThroughputBenchmark {
+
+    private static final int REQUESTS = 4000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long LLM_LATENCY_MS = 100;
+
+    private static final String INTERPRETATION = """
+            {"needFollowup": false,
+             "services": ["S3"],
+             "resourceArns": ["arn:aws:s3:::benchmark-bucket/*"],
+             "actionGroups": ["READ_OBJECTS"],
+             "durationHours": 1}""";
+
+    private static HttpServer llmStub;
+    private static ExecutorService stubExecutor;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    private AccessRequestService service;
+
+    @DynamicPropertySource
+    static void llmStub(DynamicPropertyRegistry registry) {
+        try {
+            stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            llmStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        llmStub.setExecutor(stubExecutor);
+        llmStub.createContext("/api/v1/llm/interpret", exchange -> {
+            try {
+                Thread.sleep(LLM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = INTERPRETATION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        llmStub.start();
+
+        registry.add("llm.base-url", () -> "http://127.0.0.1:" + llmStub.getAddress().getPort());
+        // the pipeline and pool limits under test, not the LLM connection cap
+        registry.add("llm.pool.max-connections", () -> "1000");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        llmStub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        // warm up connections and JIT
+        run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), 500);
+
+        double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), REQUESTS);
+        double virtual = run(Executors.newVirtualThreadPerTaskExecutor(), REQUESTS);
+
+        System.out.printf("platform threads (%d): %.0f creates/s%n", TOMCAT_MAX_THREADS, platform);
+        System.out.printf("virtual threads:        %.0f creates/s%n", virtual);
+    }
+
+    private double run(ExecutorService executor, int requests) throws Exception {
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(this::create));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return requests / seconds;
+    }
+
+    private void create() {
+        long n = sequence.incrementAndGet();
+        CreateAccessRequestDto dto = new CreateAccessRequestDto();
+        dto.setRequesterEmail("benchmark-" + n + "@company.com");
+        dto.setAwsAccount("123456789012");
+        dto.setReason("benchmark run " + n);
+        dto.setResourceArns(List.of("arn:aws:s3:::benchmark-bucket/*"));
+        dto.setDurationHours(1);
+        service.create(dto);
+    }
+}
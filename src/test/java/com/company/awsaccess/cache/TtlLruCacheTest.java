@@ -0,0 +1,83 @@
+package com.company.awsaccess.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        TtlLruCache<String, String> cache = new TtlLruCache<>(2, Duration.ofMinutes(5));
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        MutableClock clock = new MutableClock();
+        TtlLruCache<String, String> cache = new TtlLruCache<>(10, Duration.ofSeconds(30), clock);
+
+        cache.put("a", "1");
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(cache.get("a")).isEqualTo("1");
+
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putIfAbsentKeepsLiveEntryButReplacesExpiredOne() {
+        MutableClock clock = new MutableClock();
+        TtlLruCache<String, String> cache = new TtlLruCache<>(10, Duration.ofSeconds(30), clock);
+
+        cache.put("a", "fresh");
+        cache.putIfAbsent("a", "stale");
+        assertThat(cache.get("a")).isEqualTo("fresh");
+
+        clock.advance(Duration.ofSeconds(31));
+        cache.putIfAbsent("a", "reloaded");
+        assertThat(cache.get("a")).isEqualTo("reloaded");
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration by) {
+            now = now.plus(by);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
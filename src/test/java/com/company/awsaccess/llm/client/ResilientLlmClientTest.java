@@ -0,0 +1,102 @@
+package com.company.awsaccess.llm.client;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientLlmClientTest {
+
+    private static final String COMPLETE = """
+            {"needFollowup": false, "services": ["S3"], "durationHours": 24}
+            """;
+
+    private HttpServer server;
+    private final Deque<Integer> statuses = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/llm/interpret", exchange -> {
+            calls.incrementAndGet();
+            int status = statuses.isEmpty() ? 200 : statuses.poll();
+            byte[] body = (status == 200 ? COMPLETE : "{\"errorCode\":\"LLM_FAILURE\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesOnceOn5xx() {
+        statuses.add(500);
+
+        LlmInterpretResponse resp = client(5).interpret(new LlmInterpretRequest());
+
+        assertThat(resp.getNeedFollowup()).isFalse();
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetry4xx() {
+        statuses.add(422);
+
+        assertThatThrownBy(() -> client(5).interpret(new LlmInterpretRequest()))
+                .isInstanceOf(WebClientResponseException.UnprocessableContent.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void opensCircuitAndFailsFast() {
+        for (int i = 0; i < 4; i++) {
+            statuses.add(503);
+        }
+        ResilientLlmClient client = client(2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.interpret(new LlmInterpretRequest()))
+                    .isInstanceOf(LlmUnavailableException.class);
+        }
+        int callsWhenOpened = calls.get();
+
+        assertThatThrownBy(() -> client.interpret(new LlmInterpretRequest()))
+                .isInstanceOf(LlmUnavailableException.class);
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(calls.get()).isEqualTo(callsWhenOpened);
+    }
+
+    private ResilientLlmClient client(int failureThreshold) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        LlmClientImpl http = new LlmClientImpl(WebClient.builder(), baseUrl, 1000, 4, 1000);
+        return new ResilientLlmClient(
+                http,
+                new CircuitBreaker(failureThreshold, Duration.ofMinutes(1)),
+                Duration.ofSeconds(2),
+                1
+        );
+    }
+}
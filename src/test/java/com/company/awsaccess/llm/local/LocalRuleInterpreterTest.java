@@ -0,0 +1,103 @@
+package com.company.awsaccess.llm.local;
+
+import com.company.awsaccess.llm.dto.LlmInterpretRequest;
+import com.company.awsaccess.llm.dto.LlmInterpretResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRuleInterpreterTest {
+
+    private final LocalRuleInterpreter interpreter = new LocalRuleInterpreter();
+
+    @Test
+    void resolvesExplicitRequestLocally() {
+        LlmInterpretRequest req = request("Need to upload nightly build artifacts to S3",
+                "arn:aws:s3:::logs-bucket/logs/*");
+
+        Optional<LlmInterpretResponse> resp = interpreter.interpret(req);
+
+        assertThat(resp).isPresent();
+        assertThat(resp.get().getNeedFollowup()).isFalse();
+        assertThat(resp.get().getServices()).containsExactly("S3");
+        assertThat(resp.get().getActionGroups()).containsExactly("UPLOAD_OBJECTS");
+    }
+
+    @Test
+    void leavesVagueReasonToTheLlm() {
+        LlmInterpretRequest req = request("Need it for the migration",
+                "arn:aws:s3:::logs-bucket/logs/*");
+
+        assertThat(interpreter.interpret(req)).isEmpty();
+    }
+
+    @Test
+    void leavesGenericNegatedOrAmbiguousVerbsToTheLlm() {
+        String arn = "arn:aws:s3:::logs-bucket/logs/*";
+
+        assertThat(interpreter.interpret(request("Need to get access to the bucket", arn))).isEmpty();
+        assertThat(interpreter.interpret(request("Upload reports, no need to delete anything", arn))).isEmpty();
+        assertThat(interpreter.interpret(request("Upload and download reports", arn))).isEmpty();
+    }
+
+    @Test
+    void resolvesVerbWithItsServiceNounOrTheGroupName() {
+        String instance = "arn:aws:ec2:us-east-1:123456789012:instance/i-0abc";
+
+        assertThat(interpreter.interpret(request("Restart the dev instances after patching", instance)))
+                .hasValueSatisfying(resp -> assertThat(resp.getActionGroups())
+                        .containsExactly("START_STOP_INSTANCES"));
+        assertThat(interpreter.interpret(request("Need START_STOP_INSTANCES for the patch window", instance)))
+                .hasValueSatisfying(resp -> assertThat(resp.getActionGroups())
+                        .containsExactly("START_STOP_INSTANCES"));
+        assertThat(interpreter.interpret(request("ship app logs",
+                "arn:aws:logs:us-east-1:123456789012:log-group:/app:*")))
+                .hasValueSatisfying(resp -> assertThat(resp.getActionGroups()).containsExactly("WRITE_LOGS"));
+    }
+
+    @Test
+    void leavesEverydayUsesOfActionVerbsToTheLlm() {
+        String bucket = "arn:aws:s3:::logs-bucket/logs/*";
+        String instance = "arn:aws:ec2:us-east-1:123456789012:instance/i-0abc";
+        String logGroup = "arn:aws:logs:us-east-1:123456789012:log-group:/app:*";
+
+        assertThat(interpreter.interpret(request("start investigating the S3 bucket", bucket))).isEmpty();
+        assertThat(interpreter.interpret(request("start investigating the slow instance", instance))).isEmpty();
+        assertThat(interpreter.interpret(request("Need to start on the instance migration", instance))).isEmpty();
+        assertThat(interpreter.interpret(request("stop the instance migration from failing", instance))).isEmpty();
+        assertThat(interpreter.interpret(request("ship the fix for the logging bug", logGroup))).isEmpty();
+        assertThat(interpreter.interpret(request("Need to upload", bucket))).isEmpty();
+    }
+
+    @Test
+    void takesExplicitActionGroupsAsGiven() {
+        LlmInterpretRequest req = request("Need it for the migration",
+                "arn:aws:s3:::logs-bucket/logs/*");
+        req.setActionGroups(List.of("READ_OBJECTS", "LIST_BUCKET"));
+
+        assertThat(interpreter.interpret(req))
+                .hasValueSatisfying(resp -> assertThat(resp.getActionGroups())
+                        .containsExactly("READ_OBJECTS", "LIST_BUCKET"));
+    }
+
+    @Test
+    void leavesForeignAccountArnToTheLlm() {
+        LlmInterpretRequest req = request("tail application logs",
+                "arn:aws:logs:us-east-1:999999999999:log-group:/app:*");
+
+        assertThat(interpreter.interpret(req)).isEmpty();
+    }
+
+    private static LlmInterpretRequest request(String reason, String arn) {
+        LlmInterpretRequest req = new LlmInterpretRequest();
+        req.setRequesterEmail("user@company.com");
+        req.setAwsAccount("123456789012");
+        req.setReason(reason);
+        req.setResourceArns(List.of(arn));
+        req.setDurationHours(24);
+        return req;
+    }
+}
@@ -0,0 +1,43 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.llm.dto.FollowupQuestion;
+import com.company.awsaccess.llm.dto.LlmPartialData;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FollowupSessionStoreTest {
+
+    @Test
+    void sessionIsRecoveredFromTheRowAfterEviction() {
+        FollowupSessionStore store = new FollowupSessionStore(10, 60, new SimpleMeterRegistry());
+
+        LlmPartialData partial = new LlmPartialData();
+        partial.setServices(List.of("S3"));
+        FollowupQuestion question = new FollowupQuestion();
+        question.setField("resourceArns");
+        question.setQuestion("Which bucket?");
+
+        AccessRequest req = new AccessRequest();
+        req.setReason("read reports");
+        req.setStatus(AccessRequestStatus.AWAITING_FOLLOWUP);
+        req.setFollowupState(store.toState(partial, List.of(question)));
+
+        // a fresh store stands in for a restart: nothing cached
+        FollowupSessionStore restarted = new FollowupSessionStore(10, 60, new SimpleMeterRegistry());
+        FollowupSession session = restarted.get(req).orElseThrow();
+
+        assertThat(session.getReason()).isEqualTo("read reports");
+        assertThat(session.getPartialData().getServices()).containsExactly("S3");
+        assertThat(session.getQuestions()).extracting(FollowupQuestion::getQuestion)
+                .containsExactly("Which bucket?");
+
+        req.setStatus(AccessRequestStatus.INTERPRETATION_FAILED);
+        assertThat(new FollowupSessionStore(10, 60, new SimpleMeterRegistry()).get(req)).isEmpty();
+    }
+}
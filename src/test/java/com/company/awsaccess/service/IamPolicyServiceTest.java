@@ -0,0 +1,118 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.catalog.ActionGroup;
+import com.company.awsaccess.catalog.IamActionCatalog;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IamPolicyServiceTest {
+
+    private final IamPolicyService service = new IamPolicyService(new IamActionCatalog(), "");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void emitsExactlyTheApprovedGroupsPerService() {
+        AccessRequest req = approved();
+        req.setServiceList(List.of("S3", "CloudWatch"));
+        req.setResourceArnList(List.of(
+                "arn:aws:s3:::logs-bucket/logs/*",
+                "arn:aws:logs:us-east-1:123456789012:log-group:/app/*"));
+        req.setActionGroups(List.of(ActionGroup.UPLOAD_OBJECTS, ActionGroup.READ_LOGS));
+
+        List<Map<String, Object>> statements =
+                (List<Map<String, Object>>) service.generatePolicies(req).get(0).get("Statement");
+
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0).get("Action"))
+                .isEqualTo(List.of("s3:AbortMultipartUpload", "s3:PutObject"));
+        assertThat(statements.get(0).get("Resource"))
+                .isEqualTo(List.of("arn:aws:s3:::logs-bucket/logs/*"));
+        assertThat((List<String>) statements.get(1).get("Action"))
+                .allMatch(action -> action.startsWith("logs:"))
+                .doesNotContain("logs:PutLogEvents");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void legacyS3RequestsWithoutGroupsKeepTheirOldGrant() {
+        IamPolicyService legacy = new IamPolicyService(
+                new IamActionCatalog(), LocalDateTime.now().plusDays(1).toString());
+        AccessRequest req = approved();
+        req.setServiceList(List.of("S3"));
+        req.setResourceArnList(List.of("arn:aws:s3:::bucket/*"));
+
+        List<Map<String, Object>> statements =
+                (List<Map<String, Object>>) legacy.generatePolicies(req).get(0).get("Statement");
+
+        assertThat((List<String>) statements.get(0).get("Action"))
+                .contains("s3:GetObject", "s3:PutObject", "s3:ListBucket")
+                .doesNotContain("s3:DeleteObject");
+    }
+
+    @Test
+    void refusesToRenderLessThanWasRequested() {
+        AccessRequest noGroups = approved();
+        noGroups.setServiceList(List.of("S3"));
+        noGroups.setResourceArnList(List.of("arn:aws:s3:::bucket/*"));
+
+        AccessRequest ungrantedArn = approved();
+        ungrantedArn.setServiceList(List.of("S3", "CloudWatch"));
+        ungrantedArn.setResourceArnList(List.of(
+                "arn:aws:s3:::bucket/*",
+                "arn:aws:logs:us-east-1:123456789012:log-group:/app/*"));
+        ungrantedArn.setActionGroups(List.of(ActionGroup.READ_OBJECTS));
+
+        assertThatThrownBy(() -> service.generatePolicies(noGroups)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.generatePolicies(ungrantedArn)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void dropsCoveredArnsAndSplitsWhatStillDoesNotFit() throws Exception {
+        AccessRequest req = approved();
+        req.setServiceList(List.of("S3"));
+        List<String> arns = new ArrayList<>();
+        arns.add("arn:aws:s3:::shared-bucket/*");
+        arns.add("arn:aws:s3:::shared-bucket/reports/2024.csv");
+        for (int i = 0; i < 400; i++) {
+            arns.add("arn:aws:s3:::tenant-bucket-" + i + "/data/*");
+        }
+        req.setResourceArnList(arns);
+        req.setActionGroups(List.of(ActionGroup.READ_OBJECTS));
+
+        List<Map<String, Object>> policies = service.generatePolicies(req);
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(policies).hasSizeGreaterThan(1);
+        List<String> granted = new ArrayList<>();
+        for (Map<String, Object> policy : policies) {
+            assertThat(mapper.writeValueAsString(policy).length())
+                    .isLessThanOrEqualTo(IamPolicyService.MANAGED_POLICY_MAX_CHARS);
+            for (Object statement : (List<?>) policy.get("Statement")) {
+                for (Object arn : (List<?>) ((Map<?, ?>) statement).get("Resource")) {
+                    granted.add((String) arn);
+                }
+            }
+        }
+        assertThat(granted)
+                .hasSize(401)
+                .doesNotContain("arn:aws:s3:::shared-bucket/reports/2024.csv")
+                .contains("arn:aws:s3:::shared-bucket/*", "arn:aws:s3:::tenant-bucket-399/data/*");
+    }
+
+    private static AccessRequest approved() {
+        AccessRequest req = new AccessRequest();
+        req.setStatus(AccessRequestStatus.DEVOPS_APPROVED);
+        req.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return req;
+    }
+}
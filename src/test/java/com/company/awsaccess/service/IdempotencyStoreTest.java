@@ -0,0 +1,95 @@
+package com.company.awsaccess.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(100, 60, 5000, new SimpleMeterRegistry());
+
+    @Test
+    void concurrentRetryWaitsForTheFirstResultInsteadOfRunningAgain() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<String>> first = pool.submit(() ->
+                    store.execute("key-1", "create:a@example.com", List.of("body"), () -> {
+                        started.countDown();
+                        await(release);
+                        return ResponseEntity.ok("created-" + runs.incrementAndGet());
+                    }));
+            started.await();
+
+            Future<ResponseEntity<String>> retry = pool.submit(() ->
+                    store.execute("key-1", "create:a@example.com", List.of("body"),
+                            () -> ResponseEntity.ok("created-" + runs.incrementAndGet())));
+            release.countDown();
+
+            assertThat(first.get().getBody()).isEqualTo("created-1");
+            assertThat(retry.get().getBody()).isEqualTo("created-1");
+            assertThat(retry.get().getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(runs).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyIsScopedAndBoundToItsBody() {
+        store.execute("key-2", "create:a@example.com", List.of("body"), () -> ResponseEntity.ok("a"));
+
+        ResponseEntity<String> other = store.execute("key-2", "create:b@example.com", List.of("body"),
+                () -> ResponseEntity.ok("b"));
+        assertThat(other.getBody()).isEqualTo("b");
+
+        assertThatThrownBy(() -> store.execute("key-2", "create:a@example.com", List.of("changed"),
+                () -> ResponseEntity.ok("c")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void completedKeysCanBeReplayedWithoutRunningAnything() {
+        assertThat(store.findReplay("key-4", "create:a@example.com", List.of("body"))).isEmpty();
+
+        store.execute("key-4", "create:a@example.com", List.of("body"), () -> ResponseEntity.ok("a"));
+
+        assertThat(store.<String>findReplay("key-4", "create:a@example.com", List.of("body")))
+                .hasValueSatisfying(replayed -> {
+                    assertThat(replayed.getBody()).isEqualTo("a");
+                    assertThat(replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+                });
+    }
+
+    @Test
+    void failuresAreNotStored() {
+        assertThatThrownBy(() -> store.execute("key-3", "batch:", List.of(), () -> {
+            throw new IllegalStateException("LLM down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<String> retried = store.execute("key-3", "batch:", List.of(),
+                () -> ResponseEntity.ok("ok"));
+        assertThat(retried.getBody()).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.company.awsaccess.service;
+
+import com.company.awsaccess.dto.response.BulkTransitionResultDto;
+import com.company.awsaccess.event.AccessRequestStatusChangedEvent;
+import com.company.awsaccess.model.AccessRequest;
+import com.company.awsaccess.model.AccessRequestStatus;
+import com.company.awsaccess.model.StatusTransition;
+import com.company.awsaccess.repository.AccessRequestRepository;
+import com.company.awsaccess.repository.StatusView;
+import com.company.awsaccess.repository.TransitionCandidate;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusTransitionEngineTest {
+
+    private final AccessRequestRepository repository = mock(AccessRequestRepository.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final StatusTransitionEngine engine =
+            new StatusTransitionEngine(repository, publisher, transactionManager);
+
+    StatusTransitionEngineTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void appliesTransitionAndPublishesEvent() {
+        AccessRequest req = new AccessRequest();
+        req.setStatus(AccessRequestStatus.MANAGER_APPROVED);
+        when(repository.approveByManager(7L)).thenReturn(1);
+        when(repository.findById(7L)).thenReturn(Optional.of(req));
+
+        assertThat(engine.apply(7L, StatusTransition.MANAGER_APPROVE)).isSameAs(req);
+        verify(publisher).publishEvent(any(AccessRequestStatusChangedEvent.class));
+    }
+
+    @Test
+    void lostRaceIsReportedAsConflict() {
+        when(repository.approveByDevOps(any(), any())).thenReturn(0);
+        when(repository.findStatusById(7L))
+                .thenReturn(Optional.of(view(AccessRequestStatus.DEVOPS_REJECTED)));
+
+        assertThatThrownBy(() -> engine.apply(7L, StatusTransition.DEVOPS_APPROVE))
+                .isInstanceOf(StatusConflictException.class);
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void incompleteRequestIsNotAConflict() {
+        when(repository.approveByDevOps(any(), any())).thenReturn(0);
+        when(repository.findStatusById(7L))
+                .thenReturn(Optional.of(view(AccessRequestStatus.MANAGER_APPROVED)));
+
+        assertThatThrownBy(() -> engine.apply(7L, StatusTransition.DEVOPS_APPROVE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void bulkUpdatesOnlyEligibleRowsInOneStatement() {
+        when(repository.findTransitionCandidates(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                candidate(1L, AccessRequestStatus.MANAGER_APPROVED, 4),
+                candidate(2L, AccessRequestStatus.CREATED, 4)));
+        when(repository.approveAllByDevOps(eq(List.of(1L)), any())).thenReturn(1);
+
+        List<BulkTransitionResultDto> results =
+                engine.applyAll(List.of(1L, 2L, 3L, 1L), StatusTransition.DEVOPS_APPROVE);
+
+        assertThat(results).extracting(BulkTransitionResultDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(results).extracting(BulkTransitionResultDto::isSuccess).containsExactly(true, false, false);
+        assertThat(results.get(1).getStatus()).isEqualTo("CREATED");
+        verify(publisher, times(1)).publishEvent(any(AccessRequestStatusChangedEvent.class));
+    }
+
+    @Test
+    void managerCannotApproveAnIncompleteRequest() {
+        when(repository.findTransitionCandidates(List.of(1L, 2L))).thenReturn(List.of(
+                candidate(1L, AccessRequestStatus.CREATED, 4),
+                candidate(2L, AccessRequestStatus.CREATED, null)));
+        when(repository.approveAllByManager(List.of(1L))).thenReturn(1);
+
+        List<BulkTransitionResultDto> results =
+                engine.applyAll(List.of(1L, 2L), StatusTransition.MANAGER_APPROVE);
+
+        assertThat(results).extracting(BulkTransitionResultDto::isSuccess).containsExactly(true, false);
+        verify(repository).approveAllByManager(List.of(1L));
+    }
+
+    @Test
+    void rowsMovedByAConcurrentCallAreNotReportedAsOurs() {
+        when(repository.findTransitionCandidates(List.of(1L, 2L))).thenReturn(List.of(
+                candidate(1L, AccessRequestStatus.CREATED, 4),
+                candidate(2L, AccessRequestStatus.CREATED, 4)));
+        when(repository.approveAllByManager(List.of(1L, 2L))).thenReturn(1);
+        when(repository.approveByManager(1L)).thenReturn(1);
+        when(repository.approveByManager(2L)).thenReturn(0);
+        when(repository.findTransitionCandidates(List.of(2L))).thenReturn(List.of(
+                candidate(2L, AccessRequestStatus.MANAGER_APPROVED, 4)));
+
+        List<BulkTransitionResultDto> results =
+                engine.applyAll(List.of(1L, 2L), StatusTransition.MANAGER_APPROVE);
+
+        assertThat(results).extracting(BulkTransitionResultDto::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).getStatus()).isEqualTo("MANAGER_APPROVED");
+        verify(publisher, times(1)).publishEvent(any(AccessRequestStatusChangedEvent.class));
+    }
+
+    private static TransitionCandidate candidate(Long id, AccessRequestStatus status, Integer durationHours) {
+        return new TransitionCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public AccessRequestStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getRequesterEmail() {
+                return "dev@company.com";
+            }
+
+            @Override
+            public String getAwsAccount() {
+                return "123456789012";
+            }
+
+            @Override
+            public Integer getDurationHours() {
+                return durationHours;
+            }
+
+            @Override
+            public Integer getServiceCount() {
+                return 1;
+            }
+
+            @Override
+            public Integer getResourceArnCount() {
+                return 1;
+            }
+
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return null;
+            }
+        };
+    }
+
+    private static StatusView view(AccessRequestStatus status) {
+        return new StatusView() {
+            @Override
+            public AccessRequestStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return null;
+            }
+        };
+    }
+}